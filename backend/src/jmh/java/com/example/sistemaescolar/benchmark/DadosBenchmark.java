@@ -0,0 +1,117 @@
+package com.example.sistemaescolar.benchmark;
+
+import com.example.sistemaescolar.dto.CursoDTO;
+import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.dto.PessoaDTO;
+import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.model.Matricula;
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.model.StatusPagamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Dados de exemplo usados pelos benchmarks, com valores próximos dos reais (nomes, CPFs e valores
+ * com centavos), gerados de forma determinística para que as execuções sejam comparáveis.
+ */
+public final class DadosBenchmark {
+
+    // Data fixa, para que as execuções não dependam do dia em que rodam
+    private static final LocalDate REFERENCIA = LocalDate.of(2026, 2, 1);
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * ObjectMapper com a mesma configuração do Spring Boot (datas ISO-8601, módulos do Java 8).
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    public static List<Pessoa> pessoas(int quantidade) {
+        List<Pessoa> pessoas = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Pessoa pessoa = new Pessoa();
+            pessoa.setId((long) i);
+            pessoa.setNome("Aluno de Teste Número " + i);
+            pessoa.setCpf(String.format("%03d.%03d.%03d-%02d", i % 1000, (i / 7) % 1000, (i / 13) % 1000, i % 100));
+            pessoa.setDataNascimento(REFERENCIA.minusYears(18 + i % 40).minusDays(i % 365));
+            pessoa.setEmail("aluno" + i + "@exemplo.com.br");
+            pessoa.setTelefone("(11) 9" + String.format("%04d-%04d", i % 10_000, (i * 7) % 10_000));
+            pessoa.setVersao(0L);
+            pessoas.add(pessoa);
+        }
+        return pessoas;
+    }
+
+    public static List<Curso> cursos(int quantidade) {
+        List<Curso> cursos = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Curso curso = new Curso();
+            curso.setId((long) i);
+            curso.setNome("Curso de Música " + i);
+            curso.setDescricao("Aulas semanais de instrumento e teoria musical, turma " + i);
+            curso.setValor(valor(i));
+            curso.setCargaHoraria(20 + i % 100);
+            curso.setAtivo(i % 10 != 0);
+            curso.setVagas(i % 3 == 0 ? null : 30);
+            curso.setVersao(0L);
+            cursos.add(curso);
+        }
+        return cursos;
+    }
+
+    /**
+     * Matrículas com aluno e curso preenchidos (como as carregadas com JOIN FETCH), distribuídas
+     * entre alguns cursos para que vários alunos compartilhem o mesmo curso.
+     */
+    public static List<Matricula> matriculas(int quantidade) {
+        List<Pessoa> alunos = pessoas(quantidade);
+        List<Curso> cursos = cursos(Math.max(1, quantidade / 20));
+        StatusPagamento[] status = StatusPagamento.values();
+        List<Matricula> matriculas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Matricula matricula = new Matricula();
+            matricula.setId((long) i + 1);
+            matricula.setAluno(alunos.get(i));
+            matricula.setCurso(cursos.get(i % cursos.size()));
+            matricula.setDataMatricula(REFERENCIA.minusDays(i % 60));
+            matricula.setValorCobrado(valor(i));
+            matricula.setStatusPagamento(status[i % status.length]);
+            matricula.setDataVencimento(REFERENCIA.plusDays(i % 30));
+            matricula.setVersao(0L);
+            matriculas.add(matricula);
+        }
+        return matriculas;
+    }
+
+    /**
+     * Matrículas já convertidas em DTO, como as devolvidas pelas listagens de matrículas.
+     */
+    public static List<MatriculaDTO> matriculasDTO(int quantidade) {
+        return matriculas(quantidade).stream()
+                .map(m -> new MatriculaDTO(
+                        m.getId(),
+                        new PessoaDTO(m.getAluno().getId(), m.getAluno().getNome(), m.getAluno().getCpf(),
+                                m.getAluno().getDataNascimento(), m.getAluno().getEmail(), m.getAluno().getTelefone()),
+                        new CursoDTO(m.getCurso().getId(), m.getCurso().getNome(), m.getCurso().getDescricao(),
+                                m.getCurso().getValor(), m.getCurso().getCargaHoraria(), m.getCurso().isAtivo(),
+                                m.getCurso().getVagas()),
+                        m.getDataMatricula(), m.getValorCobrado(), m.getStatusPagamento(), m.getDataVencimento()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Valores monetários entre 80,00 e 1.079,99, sempre com duas casas decimais.
+     */
+    public static BigDecimal valor(int i) {
+        return BigDecimal.valueOf(8_000 + (i * 7_919L) % 100_000, 2);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.sistemaescolar.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Executa todos os benchmarks do backend e grava os resultados em JSON, para comparação entre versões.
+ * <p>
+ * Uso: {@code java -cp <classpath dos benchmarks> com.example.sistemaescolar.benchmark.ExecutarBenchmarks [arquivo] [filtro]}.
+ * O arquivo padrão é {@code resultados-benchmarks.json}; o filtro é uma expressão regular sobre o nome
+ * dos benchmarks (padrão: todos). O profiler de GC é ativado em todas as execuções, para que os resultados
+ * tragam também a alocação por operação (gc.alloc.rate.norm, em bytes).
+ */
+public final class ExecutarBenchmarks {
+
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String arquivo = args.length > 0 ? args[0] : "resultados-benchmarks.json";
+        String filtro = args.length > 1 ? args[1] : "com\\.example\\.sistemaescolar\\..*Benchmark";
+
+        Options opcoes = new OptionsBuilder()
+                .include(filtro)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(arquivo)
+                .build();
+        new Runner(opcoes).run();
+    }
+}
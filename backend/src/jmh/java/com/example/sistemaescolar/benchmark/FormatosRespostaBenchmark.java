@@ -0,0 +1,93 @@
+package com.example.sistemaescolar.benchmark;
+
+import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.model.Pessoa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes na rede e CPU de serialização das listas completas de pessoas, cursos e matrículas em cada
+ * formato aceito pela API (JSON, Smile e CBOR), sem e com a compressão gzip feita pelo Tomcat
+ * (nível padrão do Deflater). O tempo de cada benchmark inclui a compressão; o tamanho de cada
+ * lista na combinação medida é impresso no início da execução.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatosRespostaBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String formato;
+
+    @Param({"nenhuma", "gzip"})
+    private String compressao;
+
+    @Param({"1000"})
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<Pessoa> pessoas;
+    private List<Curso> cursos;
+    private List<MatriculaDTO> matriculas;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = switch (formato) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> DadosBenchmark.objectMapper();
+        };
+        pessoas = DadosBenchmark.pessoas(tamanho);
+        cursos = DadosBenchmark.cursos(tamanho);
+        matriculas = DadosBenchmark.matriculasDTO(tamanho);
+
+        System.out.printf("%n%s/%s, %d itens: pessoas %d bytes, cursos %d bytes, matrículas %d bytes%n",
+                formato, compressao, tamanho, serializarPessoas().length, serializarCursos().length,
+                serializarMatriculas().length);
+    }
+
+    @Benchmark
+    public byte[] serializarPessoas() throws IOException {
+        return serializar(pessoas);
+    }
+
+    @Benchmark
+    public byte[] serializarCursos() throws IOException {
+        return serializar(cursos);
+    }
+
+    @Benchmark
+    public byte[] serializarMatriculas() throws IOException {
+        return serializar(matriculas);
+    }
+
+    private byte[] serializar(Object valor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (OutputStream saida = "gzip".equals(compressao) ? new GZIPOutputStream(bytes, 8 * 1024) : bytes) {
+            objectMapper.writeValue(saida, valor);
+        }
+        return bytes.toByteArray();
+    }
+}
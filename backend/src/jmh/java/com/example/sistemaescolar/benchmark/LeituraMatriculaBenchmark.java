@@ -0,0 +1,81 @@
+package com.example.sistemaescolar.benchmark;
+
+import com.example.sistemaescolar.dto.NovaMatriculaDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura do corpo de POST /api/matriculas, antes e depois do registro tipado: o formato antigo do
+ * controller (Map&lt;String, Object&gt; com conversões via toString) comparado com a leitura direta para
+ * o {@link NovaMatriculaDTO}, com e sem a validação das anotações. Mede a vazão (operações por ms); a alocação
+ * por requisição aparece em gc.alloc.rate.norm (bytes/op), pois o ExecutarBenchmarks ativa o profiler de GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeituraMatriculaBenchmark {
+
+    private static final TypeReference<Map<String, Object>> TIPO_MAPA = new TypeReference<>() {
+    };
+
+    private ObjectMapper objectMapper;
+    private ObjectReader leitorRegistro;
+    private Validator validator;
+    private byte[] corpo;
+
+    @Setup
+    public void preparar() {
+        objectMapper = DadosBenchmark.objectMapper();
+        leitorRegistro = objectMapper.readerFor(NovaMatriculaDTO.class);
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        corpo = "{\"alunoId\": 1234, \"cursoId\": 56, \"valorCobrado\": 150.00, \"dataVencimento\": \"2026-03-10\"}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Antes: as conversões que o MatriculaController.realizarMatricula fazia sobre o mapa
+    @Benchmark
+    public void lerComoMapa(Blackhole blackhole) throws IOException {
+        Map<String, Object> dadosMatricula = objectMapper.readValue(corpo, TIPO_MAPA);
+        blackhole.consume(Long.valueOf(dadosMatricula.get("alunoId").toString()));
+        blackhole.consume(Long.valueOf(dadosMatricula.get("cursoId").toString()));
+        blackhole.consume(new BigDecimal(dadosMatricula.get("valorCobrado").toString()));
+        blackhole.consume(LocalDate.parse(dadosMatricula.get("dataVencimento").toString()));
+    }
+
+    @Benchmark
+    public NovaMatriculaDTO lerComoRegistro() throws IOException {
+        return leitorRegistro.readValue(corpo);
+    }
+
+    // Depois: o caminho atual do controller (leitura direta e @Valid)
+    @Benchmark
+    public void lerComoRegistroValidado(Blackhole blackhole) throws IOException {
+        NovaMatriculaDTO dadosMatricula = leitorRegistro.readValue(corpo);
+        blackhole.consume(validator.validate(dadosMatricula));
+        blackhole.consume(dadosMatricula);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.sistemaescolar.benchmark;
+
+import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.model.Pessoa;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização com Jackson das listas devolvidas pela API: matrículas (DTO com aluno e curso),
+ * pessoas e cursos (entidades), em tamanhos de uma página pequena até uma listagem completa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<MatriculaDTO> matriculas;
+    private List<Pessoa> pessoas;
+    private List<Curso> cursos;
+
+    @Setup
+    public void preparar() {
+        objectMapper = DadosBenchmark.objectMapper();
+        matriculas = DadosBenchmark.matriculasDTO(tamanho);
+        pessoas = DadosBenchmark.pessoas(tamanho);
+        cursos = DadosBenchmark.cursos(tamanho);
+    }
+
+    @Benchmark
+    public byte[] serializarMatriculas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(matriculas);
+    }
+
+    @Benchmark
+    public byte[] serializarPessoas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pessoas);
+    }
+
+    @Benchmark
+    public byte[] serializarCursos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cursos);
+    }
+}
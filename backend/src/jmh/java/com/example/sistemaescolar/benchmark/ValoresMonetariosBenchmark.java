@@ -0,0 +1,88 @@
+package com.example.sistemaescolar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operações com valores monetários feitas nos caminhos de matrícula e relatórios:
+ * soma de valores cobrados (BigDecimal, como nos contadores de receita, comparada com centavos em long),
+ * leitura de valores recebidos como texto e arredondamento para duas casas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValoresMonetariosBenchmark {
+
+    @Param({"100", "10000"})
+    private int tamanho;
+
+    private BigDecimal[] valores;
+    private long[] centavos;
+    private String[] textos;
+
+    @Setup
+    public void preparar() {
+        valores = new BigDecimal[tamanho];
+        centavos = new long[tamanho];
+        textos = new String[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            valores[i] = DadosBenchmark.valor(i);
+            centavos[i] = valores[i].unscaledValue().longValueExact();
+            textos[i] = valores[i].toPlainString();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal somarBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal valor : valores) {
+            total = total.add(valor);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long somarCentavos() {
+        long total = 0;
+        for (long valor : centavos) {
+            total += valor;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal lerValoresDeTexto() {
+        BigDecimal ultimo = null;
+        for (String texto : textos) {
+            ultimo = new BigDecimal(texto);
+        }
+        return ultimo;
+    }
+
+    // Ex: juros de 2% sobre cada valor, arredondados como um boleto (duas casas, HALF_EVEN)
+    @Benchmark
+    public BigDecimal calcularJurosArredondados() {
+        BigDecimal taxa = new BigDecimal("0.02");
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal valor : valores) {
+            total = total.add(valor.multiply(taxa).setScale(2, RoundingMode.HALF_EVEN));
+        }
+        return total;
+    }
+}
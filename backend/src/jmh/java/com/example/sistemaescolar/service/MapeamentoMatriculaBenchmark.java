@@ -0,0 +1,53 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.benchmark.DadosBenchmark;
+import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.model.Matricula;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de MatriculaServiceImpl.convertToDTO sobre listas do tamanho das páginas e exportações,
+ * sem banco: as matrículas já vêm com aluno e curso carregados, como no JOIN FETCH dos repositórios.
+ * Fica no pacote do serviço para chamar o método diretamente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoMatriculaBenchmark {
+
+    @Param({"1", "50", "1000"})
+    private int tamanho;
+
+    private List<Matricula> matriculas;
+
+    @Setup
+    public void preparar() {
+        matriculas = DadosBenchmark.matriculas(tamanho);
+    }
+
+    @Benchmark
+    public List<MatriculaDTO> converterParaDTO() {
+        List<MatriculaDTO> dtos = new ArrayList<>(matriculas.size());
+        for (Matricula matricula : matriculas) {
+            dtos.add(MatriculaServiceImpl.convertToDTO(matricula));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.benchmark.DadosBenchmark;
+import com.example.sistemaescolar.dto.CursoDTO;
+import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.dto.MatriculaReferenciaDTO;
+import com.example.sistemaescolar.dto.MatriculasNormalizadasDTO;
+import com.example.sistemaescolar.dto.PessoaDTO;
+import com.example.sistemaescolar.model.Matricula;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de uma listagem de matrículas em cada representação aceita pelos endpoints de lista:
+ * completa (MatriculaDTO), resumo (campos de {@link MatriculaService#CAMPOS_RESUMO}) e normalizada.
+ * O tamanho em bytes de cada representação é impresso no início da execução. Fica no pacote do
+ * serviço para montar as linhas com a mesma {@link ProjecaoMatriculas} das consultas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepresentacoesMatriculaBenchmark {
+
+    @Param({"50", "500"})
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<MatriculaDTO> completas;
+    private List<Map<String, Object>> resumos;
+    private MatriculasNormalizadasDTO normalizadas;
+
+    @Setup
+    public void preparar() throws JsonProcessingException {
+        objectMapper = DadosBenchmark.objectMapper();
+        List<Matricula> matriculas = DadosBenchmark.matriculas(tamanho);
+        List<String> camposResumo = ProjecaoMatriculas.validar(MatriculaService.CAMPOS_RESUMO);
+
+        completas = new ArrayList<>(tamanho);
+        resumos = new ArrayList<>(tamanho);
+        List<MatriculaReferenciaDTO> referencias = new ArrayList<>(tamanho);
+        Map<Long, PessoaDTO> pessoas = new TreeMap<>();
+        Map<Long, CursoDTO> cursos = new TreeMap<>();
+        for (Matricula m : matriculas) {
+            MatriculaDTO completa = MatriculaServiceImpl.convertToDTO(m);
+            completas.add(completa);
+            resumos.add(ProjecaoMatriculas.linha(camposResumo, new Object[]{m.getId(), m.getAluno().getId(),
+                    m.getAluno().getNome(), m.getCurso().getId(), m.getCurso().getNome(), m.getValorCobrado(),
+                    m.getStatusPagamento(), m.getDataVencimento()}));
+            referencias.add(new MatriculaReferenciaDTO(m.getId(), m.getAluno().getId(), m.getCurso().getId(),
+                    m.getDataMatricula(), m.getValorCobrado(), m.getStatusPagamento(), m.getDataVencimento()));
+            pessoas.put(completa.getAluno().getId(), completa.getAluno());
+            cursos.put(completa.getCurso().getId(), completa.getCurso());
+        }
+        normalizadas = new MatriculasNormalizadasDTO(referencias, new ArrayList<>(pessoas.values()),
+                new ArrayList<>(cursos.values()), null);
+
+        System.out.printf("%n%d matrículas: completa %d bytes, resumo %d bytes, normalizada %d bytes%n", tamanho,
+                serializarCompletas().length, serializarResumos().length, serializarNormalizadas().length);
+    }
+
+    @Benchmark
+    public byte[] serializarCompletas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(completas);
+    }
+
+    @Benchmark
+    public byte[] serializarResumos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resumos);
+    }
+
+    @Benchmark
+    public byte[] serializarNormalizadas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(normalizadas);
+    }
+}
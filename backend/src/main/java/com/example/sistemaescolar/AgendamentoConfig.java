@@ -0,0 +1,13 @@
+package com.example.sistemaescolar;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (@Scheduled), como a varredura diária de pagamentos atrasados.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+    // Não é necessário adicionar nenhum método aqui
+}
@@ -0,0 +1,55 @@
+package com.example.sistemaescolar;
+
+import com.example.sistemaescolar.service.VersaoColecoes;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cache em memória (Caffeine) usado no catálogo de cursos.
+ * Os cursos mudam poucas vezes por semestre, mas são lidos a cada carregamento de página.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CURSOS = "cursos";
+    public static final String CURSOS_ATIVOS = "cursosAtivos";
+
+    // Nome do gerador de chaves das leituras do catálogo de cursos
+    public static final String CHAVE_VERSAO_CURSOS = "chaveVersaoCursos";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CURSOS, CURSOS_ATIVOS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(1_000)
+                // Limite para as alterações feitas por outras instâncias, que não invalidam este cache
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .recordStats()); // Acertos/falhas expostos como métricas cache.gets pelo Actuator
+        // Invalidações feitas dentro de uma transação só são aplicadas após o commit,
+        // evitando que uma leitura concorrente recoloque no cache o valor antigo
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Chaves das leituras do catálogo de cursos, prefixadas pela versão da coleção no início da leitura.
+     * Uma leitura que começou antes do commit de uma alteração (e leu o valor antigo) pode gravar no
+     * cache depois da invalidação; com a versão na chave, esse valor fica sob uma chave que ninguém mais
+     * consulta, em vez de ser servido até expirar.
+     */
+    @Bean(CHAVE_VERSAO_CURSOS)
+    public KeyGenerator chaveVersaoCursos(VersaoColecoes versaoColecoes) {
+        return (alvo, metodo, parametros) ->
+                new SimpleKey(versaoColecoes.versao(VersaoColecoes.CURSOS), SimpleKeyGenerator.generateKey(parametros));
+    }
+}
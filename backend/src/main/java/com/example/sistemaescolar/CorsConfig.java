@@ -0,0 +1,44 @@
+package com.example.sistemaescolar;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * CORS da API para o frontend, a partir das propriedades {@code spring.web.cors.*} do application.properties.
+ * <p>
+ * Com {@code allow-credentials} o navegador envia e guarda os cookies nas requisições do frontend feitas
+ * com {@code credentials: 'include'}; é assim que o cookie {@code escrita-recente} da réplica de leitura
+ * volta ao backend. Nesse caso as origens precisam ser explícitas (não podem ser {@code *}).
+ */
+@Configuration
+public class CorsConfig implements WebMvcConfigurer {
+
+    private final String[] origens;
+    private final String[] metodos;
+    private final String[] cabecalhos;
+    private final boolean credenciais;
+
+    public CorsConfig(@Value("${spring.web.cors.allowed-origins:}") String[] origens,
+                      @Value("${spring.web.cors.allowed-methods:GET,POST,PUT,DELETE,PATCH}") String[] metodos,
+                      @Value("${spring.web.cors.allowed-headers:*}") String[] cabecalhos,
+                      @Value("${spring.web.cors.allow-credentials:false}") boolean credenciais) {
+        this.origens = origens;
+        this.metodos = metodos;
+        this.cabecalhos = cabecalhos;
+        this.credenciais = credenciais;
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        if (origens.length == 0) {
+            return; // Sem origens configuradas, apenas requisições da mesma origem
+        }
+        registry.addMapping("/api/**")
+                .allowedOrigins(origens)
+                .allowedMethods(metodos)
+                .allowedHeaders(cabecalhos)
+                .allowCredentials(credenciais);
+    }
+}
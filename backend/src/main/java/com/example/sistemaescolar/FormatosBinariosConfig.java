@@ -0,0 +1,37 @@
+package com.example.sistemaescolar;
+
+import com.example.sistemaescolar.controller.FormatosBinarios;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Negociação de conteúdo com os formatos binários: com {@code Accept: application/x-jackson-smile}
+ * ou {@code Accept: application/cbor} as respostas saem em Smile ou CBOR em vez de JSON.
+ * <p>
+ * Os conversores ficam depois do de JSON, para que requisições com {@code Accept: *}{@code /*}
+ * (o padrão do fetch do navegador) continuem recebendo JSON.
+ */
+@Configuration
+public class FormatosBinariosConfig implements WebMvcConfigurer {
+
+    private final FormatosBinarios formatosBinarios;
+
+    public FormatosBinariosConfig(FormatosBinarios formatosBinarios) {
+        this.formatosBinarios = formatosBinarios;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // O Spring MVC registra conversores próprios quando as bibliotecas estão no classpath;
+        // são substituídos pelos que usam a configuração do Spring Boot
+        converters.removeIf(conversor -> conversor instanceof MappingJackson2SmileHttpMessageConverter
+                || conversor instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(formatosBinarios.smile()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(formatosBinarios.cbor()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.sistemaescolar;
+
+import com.example.sistemaescolar.metricas.ContagemComandosSql;
+import com.example.sistemaescolar.metricas.MetricasAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Métricas da aplicação, expostas pelo Actuator em /actuator/prometheus junto com as que o
+ * Spring Boot já publica (http.server.requests, hikaricp.connections.*, cache.gets, jvm.*):
+ * tempo e erros de cada método dos serviços e repositórios, e comandos SQL por requisição.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MetricasAspect metricasAspect(MeterRegistry registry) {
+        return new MetricasAspect(registry);
+    }
+
+    @Bean
+    public ContagemComandosSql contagemComandosSql(MeterRegistry registry) {
+        return new ContagemComandosSql(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer inspetorDeComandosSql(ContagemComandosSql contagemComandosSql) {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contagemComandosSql);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ContagemComandosSql> filtroContagemComandosSql(ContagemComandosSql contagemComandosSql) {
+        FilterRegistrationBean<ContagemComandosSql> registro = new FilterRegistrationBean<>(contagemComandosSql);
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
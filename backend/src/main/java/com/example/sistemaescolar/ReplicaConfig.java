@@ -0,0 +1,110 @@
+package com.example.sistemaescolar;
+
+import com.example.sistemaescolar.roteamento.AderenciaEscrita;
+import com.example.sistemaescolar.roteamento.AderenciaEscritaFiltro;
+import com.example.sistemaescolar.roteamento.LeituraNaPrincipalAspect;
+import com.example.sistemaescolar.roteamento.MonitorReplica;
+import com.example.sistemaescolar.roteamento.RoteamentoDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Réplica de leitura, ativada quando {@code replica.url} é informada: as transações somente leitura
+ * vão para a réplica e as demais para o banco principal (ver {@link RoteamentoDataSource}).
+ * Sem a propriedade, o Spring Boot cria o DataSource único de sempre.
+ * <p>
+ * O pool do principal continua configurado por {@code spring.datasource.*}; o da réplica, por
+ * {@code replica.hikari.*}, com usuário e senha do principal quando {@code replica.username} e
+ * {@code replica.password} não são informados.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.url")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrincipal(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.hikari")
+    public HikariDataSource dataSourceReplica(DataSourceProperties propriedades,
+                                              @Value("${replica.url}") String url,
+                                              @Value("${replica.username:${spring.datasource.username}}") String usuario,
+                                              @Value("${replica.password:${spring.datasource.password}}") String senha) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(propriedades.determineDriverClassName())
+                .url(url)
+                .username(usuario)
+                .password(senha)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true); // Proteção extra: a réplica nunca recebe escrita, mesmo por engano
+        return replica;
+    }
+
+    @Bean
+    public AderenciaEscrita aderenciaEscrita(@Value("${replica.aderencia-ms:5000}") long janelaMs) {
+        return new AderenciaEscrita(Duration.ofMillis(janelaMs));
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(@Qualifier("dataSourceReplica") DataSource replica,
+                                         @Value("${replica.atraso-maximo-ms:2000}") long atrasoMaximoMs,
+                                         MeterRegistry registry) {
+        return new MonitorReplica(replica, Duration.ofMillis(atrasoMaximoMs), registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrincipal") DataSource principal,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 MonitorReplica monitorReplica, AderenciaEscrita aderenciaEscrita) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(monitorReplica, aderenciaEscrita);
+        roteamento.setTargetDataSources(Map.of(
+                RoteamentoDataSource.Destino.PRINCIPAL, principal,
+                RoteamentoDataSource.Destino.REPLICA, replica));
+        roteamento.setDefaultTargetDataSource(principal);
+        roteamento.afterPropertiesSet();
+
+        // A conexão só é obtida no primeiro comando SQL, quando a transação já foi marcada como somente leitura
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(roteamento);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED); // Padrão do PostgreSQL
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    @Bean
+    public LeituraNaPrincipalAspect leituraNaPrincipalAspect(AderenciaEscrita aderenciaEscrita) {
+        return new LeituraNaPrincipalAspect(aderenciaEscrita);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AderenciaEscritaFiltro> filtroAderenciaEscrita(AderenciaEscrita aderenciaEscrita) {
+        FilterRegistrationBean<AderenciaEscritaFiltro> registro = new FilterRegistrationBean<>(new AderenciaEscritaFiltro(aderenciaEscrita));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registro;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.sistemaescolar.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+/**
+ * Cabeçalhos das respostas GET condicionais (ETag / If-None-Match) dos controllers.
+ */
+final class CabecalhosCondicionais {
+
+    private CabecalhosCondicionais() {
+    }
+
+    /**
+     * Monta os cabeçalhos com a ETag da coleção e Cache-Control: no-cache,
+     * para que o navegador sempre revalide com If-None-Match em vez de reaproveitar a resposta às cegas.
+     * A resposta varia com o Accept (JSON, Smile ou CBOR), então caches não devem misturar os formatos.
+     *
+     * @param etag O valor da ETag, sem aspas.
+     */
+    static HttpHeaders comEtag(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag('"' + etag + '"');
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT));
+        return headers;
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.sistemaescolar.controller;
 
+import com.example.sistemaescolar.dto.CursoDTO;
+import com.example.sistemaescolar.dto.PaginaDTO;
 import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.roteamento.LeituraNaPrincipal;
 import com.example.sistemaescolar.service.CursoService;
+import com.example.sistemaescolar.service.VersaoColecoes;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,11 +22,15 @@ import java.util.Optional;
 @RequestMapping("/api/cursos")
 public class CursoController {
 
+    private static final String CABECALHO_TOTAL = "X-Total-Count";
+
     private final CursoService cursoService;
+    private final VersaoColecoes versaoColecoes;
 
     @Autowired
-    public CursoController(CursoService cursoService) {
+    public CursoController(CursoService cursoService, VersaoColecoes versaoColecoes) {
         this.cursoService = cursoService;
+        this.versaoColecoes = versaoColecoes;
     }
 
     @PostMapping
@@ -28,29 +40,102 @@ public class CursoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Curso>> listarTodosOsCursos() {
+    @LeituraNaPrincipal
+    public ResponseEntity<List<Curso>> listarTodosOsCursos(WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.CURSOS);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified, sem consultar o banco
+        }
         List<Curso> cursos = cursoService.listarTodos();
-        return new ResponseEntity<>(cursos, HttpStatus.OK);
+        return new ResponseEntity<>(cursos, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK);
     }
 
     @GetMapping("/ativos")
-    public ResponseEntity<List<Curso>> listarCursosAtivos() {
+    @LeituraNaPrincipal
+    public ResponseEntity<List<Curso>> listarCursosAtivos(WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.CURSOS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<Curso> cursosAtivos = cursoService.listarAtivos();
-        return new ResponseEntity<>(cursosAtivos, HttpStatus.OK);
+        return new ResponseEntity<>(cursosAtivos, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK);
+    }
+
+    @GetMapping("/pagina")
+    @LeituraNaPrincipal
+    public ResponseEntity<PaginaDTO<Curso>> listarCursosPaginados(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "50") int tamanho,
+                                                                  @RequestParam(defaultValue = "false") boolean incluirTotal,
+                                                                  WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.CURSOS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            PaginaDTO<Curso> pagina = cursoService.listarPagina(cursor, tamanho);
+            HttpHeaders headers = CabecalhosCondicionais.comEtag(etag);
+            if (incluirTotal) {
+                // A contagem só é feita quando solicitada, pois exige percorrer a tabela inteira
+                headers.set(CABECALHO_TOTAL, String.valueOf(cursoService.contarTodos()));
+            }
+            return new ResponseEntity<>(pagina, headers, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Lista os cursos com os contadores de matrículas (matriculados, pagos e receita).
+     * O ETag muda a cada alteração de cursos ou de matrículas.
+     */
+    @GetMapping("/estatisticas")
+    @LeituraNaPrincipal
+    public ResponseEntity<List<CursoDTO>> listarEstatisticasDosCursos(WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.CURSOS, VersaoColecoes.MATRICULAS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<CursoDTO> cursos = cursoService.listarComContadores();
+        return new ResponseEntity<>(cursos, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/estatisticas")
+    @LeituraNaPrincipal
+    public ResponseEntity<CursoDTO> buscarEstatisticasDoCurso(@PathVariable Long id, WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.CURSOS, VersaoColecoes.MATRICULAS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Optional<CursoDTO> curso = cursoService.buscarComContadores(id);
+        return curso.map(value -> new ResponseEntity<>(value, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Curso> buscarCursoPorId(@PathVariable Long id) {
+    @LeituraNaPrincipal
+    public ResponseEntity<Curso> buscarCursoPorId(@PathVariable Long id, WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.CURSOS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Optional<Curso> curso = cursoService.buscarPorId(id);
-        return curso.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+        return curso.map(value -> new ResponseEntity<>(value, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Curso> atualizarCurso(@PathVariable Long id, @RequestBody Curso curso) {
         curso.setId(id);
-        Curso cursoAtualizado = cursoService.salvar(curso);
-        return new ResponseEntity<>(cursoAtualizado, HttpStatus.OK);
+        try {
+            Curso cursoAtualizado = cursoService.salvar(curso);
+            return new ResponseEntity<>(cursoAtualizado, HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            // A versão enviada está desatualizada: outra requisição alterou o curso antes
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (EmptyResultDataAccessException e) {
+            // Não existe curso com o ID informado
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
     }
 
     @PatchMapping("/{id}/status/{ativo}")
@@ -0,0 +1,58 @@
+package com.example.sistemaescolar.controller;
+
+import com.example.sistemaescolar.dto.ErroDTO;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Converte os erros de leitura e de validação do corpo das requisições de matrícula em respostas
+ * 400 com um {@link ErroDTO}, indicando o campo inválido quando ele é conhecido.
+ */
+@RestControllerAdvice(assignableTypes = MatriculaController.class)
+public class ErrosMatriculaHandler {
+
+    static final String DADOS_INVALIDOS = "Dados da matrícula inválidos.";
+    static final String CORPO_INVALIDO = "O corpo da requisição não é um JSON válido.";
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErroDTO> tratarValidacao(MethodArgumentNotValidException e) {
+        // TreeMap: ordem estável dos campos na resposta; se um campo tiver mais de um erro, mantém o primeiro
+        Map<String, String> campos = e.getBindingResult().getFieldErrors().stream()
+                .collect(Collectors.toMap(FieldError::getField,
+                        erro -> String.valueOf(erro.getDefaultMessage()),
+                        (primeiro, segundo) -> primeiro,
+                        TreeMap::new));
+        return erro(DADOS_INVALIDOS, campos);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErroDTO> tratarCorpoIlegivel(HttpMessageNotReadableException e) {
+        // Ex: texto em um campo numérico ou data fora do formato AAAA-MM-DD
+        if (e.getCause() instanceof MismatchedInputException entradaInvalida && !entradaInvalida.getPath().isEmpty()) {
+            String campo = entradaInvalida.getPath().stream()
+                    .map(referencia -> referencia.getFieldName() != null
+                            ? referencia.getFieldName() : "[" + referencia.getIndex() + "]")
+                    .collect(Collectors.joining(".")).replace(".[", "[");
+            return erro(DADOS_INVALIDOS, Map.of(campo, "formato inválido"));
+        }
+        if (e.getCause() instanceof JsonMappingException) {
+            return erro(DADOS_INVALIDOS, Map.of());
+        }
+        return erro(CORPO_INVALIDO, Map.of());
+    }
+
+    private static ResponseEntity<ErroDTO> erro(String mensagem, Map<String, String> campos) {
+        return new ResponseEntity<>(new ErroDTO(HttpStatus.BAD_REQUEST.value(), mensagem, campos), HttpStatus.BAD_REQUEST);
+    }
+}
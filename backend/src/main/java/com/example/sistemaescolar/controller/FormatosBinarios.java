@@ -0,0 +1,36 @@
+package com.example.sistemaescolar.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * ObjectMappers dos formatos binários do Jackson (Smile e CBOR) oferecidos como alternativa ao JSON
+ * nas respostas grandes. São criados a partir do builder do Spring Boot, com a mesma configuração
+ * (spring.jackson.*, módulos de datas) do ObjectMapper de JSON, para que os campos sejam os mesmos.
+ */
+@Component
+public class FormatosBinarios {
+
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    public static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    private final ObjectMapper smile;
+    private final ObjectMapper cbor;
+
+    public FormatosBinarios(Jackson2ObjectMapperBuilder builder) {
+        this.smile = builder.factory(new SmileFactory()).build();
+        this.cbor = builder.factory(new CBORFactory()).build();
+    }
+
+    public ObjectMapper smile() {
+        return smile;
+    }
+
+    public ObjectMapper cbor() {
+        return cbor;
+    }
+}
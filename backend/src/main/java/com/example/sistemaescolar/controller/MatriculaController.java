@@ -1,15 +1,39 @@
 package com.example.sistemaescolar.controller;
 
+import com.example.sistemaescolar.dto.AtualizacaoStatusLoteDTO;
+import com.example.sistemaescolar.dto.ErroDTO;
 import com.example.sistemaescolar.model.Matricula;
 import com.example.sistemaescolar.model.StatusPagamento;
+import com.example.sistemaescolar.roteamento.LeituraNaPrincipal;
 import com.example.sistemaescolar.service.MatriculaService;
+import com.example.sistemaescolar.service.VersaoColecoes;
 import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.dto.MatriculaLoteItemDTO;
+import com.example.sistemaescolar.dto.MatriculaLoteResultadoDTO;
+import com.example.sistemaescolar.dto.MatriculaStatusItemDTO;
+import com.example.sistemaescolar.dto.NovaMatriculaDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.validation.Valid;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,62 +46,257 @@ import java.util.Optional;
 @RequestMapping("/api/matriculas")
 public class MatriculaController {
 
+    private static final String CABECALHO_TOTAL = "X-Total-Count";
+
+    // Representações aceitas pelo parâmetro "visao" das listagens
+    private static final String VISAO_COMPLETA = "completa";
+    private static final String VISAO_RESUMO = "resumo";
+    private static final String VISAO_NORMALIZADA = "normalizada";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
     private final MatriculaService matriculaService;
+    private final VersaoColecoes versaoColecoes;
+    private final ObjectMapper objectMapper;
+    private final FormatosBinarios formatosBinarios;
 
     // Injeção de dependência via construtor
-    public MatriculaController(MatriculaService matriculaService) {
+    public MatriculaController(MatriculaService matriculaService, VersaoColecoes versaoColecoes, ObjectMapper objectMapper,
+                               FormatosBinarios formatosBinarios) {
         this.matriculaService = matriculaService;
+        this.versaoColecoes = versaoColecoes;
+        this.objectMapper = objectMapper;
+        this.formatosBinarios = formatosBinarios;
     }
 
     /**
      * Endpoint para realizar uma nova matrícula.
      *
-     * @param dadosMatricula Mapa contendo os dados necessários para a matrícula
-     * @return ResponseEntity com a matrícula criada ou mensagem de erro
+     * @param dadosMatricula Dados da matrícula; campos ausentes ou inválidos são recusados com status 400
+     *                       antes de chegar ao serviço (ver {@link ErrosMatriculaHandler})
+     * @return ResponseEntity com a matrícula criada, erro (400) ou 409 se o aluno já estiver matriculado no curso
      */
     @PostMapping
-    public ResponseEntity<?> realizarMatricula(@RequestBody Map<String, Object> dadosMatricula) {
+    public ResponseEntity<?> realizarMatricula(@Valid @RequestBody NovaMatriculaDTO dadosMatricula) {
         try {
-            // Extrair dados do request body
-            Long alunoId = Long.valueOf(dadosMatricula.get("alunoId").toString());
-            Long cursoId = Long.valueOf(dadosMatricula.get("cursoId").toString());
-            BigDecimal valorCobrado = new BigDecimal(dadosMatricula.get("valorCobrado").toString());
-            LocalDate dataVencimento = LocalDate.parse(dadosMatricula.get("dataVencimento").toString());
-
-            // Chamar o serviço para realizar a matrícula
-            Matricula novaMatricula = matriculaService.realizarMatricula(alunoId, cursoId, valorCobrado, dataVencimento);
+            Matricula novaMatricula = matriculaService.realizarMatricula(dadosMatricula.alunoId(),
+                    dadosMatricula.cursoId(), dadosMatricula.valorCobrado(), dadosMatricula.dataVencimento());
 
             // Retornar a matrícula criada com status 201 (Created)
             return new ResponseEntity<>(novaMatricula, HttpStatus.CREATED);
+        } catch (DuplicateKeyException e) {
+            // O aluno já está matriculado neste curso (inclusive por uma requisição concorrente)
+            return new ResponseEntity<>(new ErroDTO(HttpStatus.CONFLICT.value(), e.getMessage()), HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
-            // Em caso de erro, retornar uma mensagem amigável com status 400 (Bad Request)
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+            // Regras do serviço: aluno ou curso inexistente, curso inativo ou sem vagas
+            return new ResponseEntity<>(new ErroDTO(HttpStatus.BAD_REQUEST.value(), e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Endpoint para realizar várias matrículas em uma única requisição (ex: turma inteira).
+     *
+     * @param itens Lista com alunoId, cursoId, valorCobrado e dataVencimento de cada matrícula
+     * @return ResponseEntity com o resultado de cada item (ID criado ou erro) , status 400 para lote inválido ou 409 se outra requisição matricular um dos pares
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<?> realizarMatriculasEmLote(@RequestBody List<MatriculaLoteItemDTO> itens) {
+        try {
+            List<MatriculaLoteResultadoDTO> resultados = matriculaService.realizarMatriculasEmLote(itens);
+            return new ResponseEntity<>(resultados, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ErroDTO(HttpStatus.BAD_REQUEST.value(), e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (DuplicateKeyException e) {
+            // Um dos pares foi matriculado por outra requisição durante o lote; nada foi gravado
+            return new ResponseEntity<>(new ErroDTO(HttpStatus.CONFLICT.value(), e.getMessage()), HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Endpoint para listar as matrículas em páginas, com paginação por cursor (keyset sobre o ID).
+     *
+     * @param cursor Cursor opaco devolvido pela página anterior (ausente na primeira página)
+     * @param tamanho Quantidade máxima de itens por página
+     * @param incluirTotal Se true, inclui o total de matrículas no cabeçalho X-Total-Count
+     * @param visao "completa" (padrão), "resumo" ou "normalizada" (ver {@link #listarMatriculasPorAluno})
+     * @param campos Campos de cada matrícula, separados por vírgula (ex: id,statusPagamento,aluno.nome)
+     * @param request Requisição atual, usada para comparar a ETag com o If-None-Match
+     * @return ResponseEntity com a página de matrículas ou status 400 (Bad Request) para cursor, visão ou campo inválido
+     */
+    @GetMapping("/pagina")
+    @LeituraNaPrincipal
+    public ResponseEntity<?> listarMatriculasPaginadas(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") int tamanho,
+                                                       @RequestParam(defaultValue = "false") boolean incluirTotal,
+                                                       @RequestParam(defaultValue = VISAO_COMPLETA) String visao,
+                                                       @RequestParam(required = false) List<String> campos,
+                                                       WebRequest request) {
+        // As matrículas incluem dados do aluno e do curso, então dependem das três coleções
+        String etag = versaoColecoes.etag(VersaoColecoes.PESSOAS, VersaoColecoes.CURSOS, VersaoColecoes.MATRICULAS);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified, sem consultar o banco
+        }
+        try {
+            Object pagina;
+            if (VISAO_NORMALIZADA.equals(visao) && campos == null) {
+                pagina = matriculaService.listarPaginaNormalizada(cursor, tamanho);
+            } else {
+                List<String> camposPedidos = camposDaVisao(visao, campos);
+                pagina = camposPedidos == null
+                        ? matriculaService.listarPagina(cursor, tamanho)
+                        : matriculaService.listarPagina(cursor, tamanho, camposPedidos);
+            }
+            HttpHeaders headers = CabecalhosCondicionais.comEtag(etag);
+            if (incluirTotal) {
+                // A contagem só é feita quando solicitada, pois exige percorrer a tabela inteira
+                headers.set(CABECALHO_TOTAL, String.valueOf(matriculaService.contarTodos()));
+            }
+            return new ResponseEntity<>(pagina, headers, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ErroDTO(HttpStatus.BAD_REQUEST.value(), e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Endpoint para exportar todas as matrículas (com aluno e curso) para o faturamento.
+     * As linhas são escritas na resposta à medida que são lidas do banco, sem montar a lista em memória.
+     *
+     * @param formato "ndjson" (um JSON por linha, padrão), "csv", "smile" ou "cbor" (sequência de valores
+     *                no formato binário, lida com ObjectReader.readValues)
+     * @return ResponseEntity com o corpo em streaming ou status 400 (Bad Request) para formato desconhecido
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarMatriculas(@RequestParam(defaultValue = "ndjson") String formato) {
+        String extensao = formato.toLowerCase();
+        ObjectMapper mapperBinario = switch (extensao) {
+            case "smile" -> formatosBinarios.smile();
+            case "cbor" -> formatosBinarios.cbor();
+            default -> null;
+        };
+        boolean csv = "csv".equals(extensao);
+        if (mapperBinario == null && !csv && !"ndjson".equals(extensao)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        StreamingResponseBody corpo = mapperBinario != null
+                ? saida -> exportarBinario(mapperBinario, saida)
+                : saida -> exportarTexto(csv, saida);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(switch (extensao) {
+            case "smile" -> FormatosBinarios.SMILE;
+            case "cbor" -> FormatosBinarios.CBOR;
+            case "csv" -> CSV;
+            default -> NDJSON;
+        });
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=matriculas." + extensao);
+        return new ResponseEntity<>(corpo, headers, HttpStatus.OK);
+    }
+
+    private void exportarTexto(boolean csv, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write("id,alunoId,alunoNome,alunoCpf,cursoId,cursoNome,dataMatricula,valorCobrado,statusPagamento,dataVencimento\n");
+        }
+        try {
+            matriculaService.exportarMatriculas(matricula -> {
+                try {
+                    writer.write(csv ? linhaCsv(matricula) : objectMapper.writeValueAsString(matricula));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // Ex: cliente encerrou a conexão no meio da exportação
+        }
+        writer.flush();
+    }
+
+    // Um único gerador para toda a exportação: o cabeçalho do formato e os nomes de campo
+    // já vistos (no Smile) não se repetem a cada matrícula
+    private void exportarBinario(ObjectMapper mapper, OutputStream saida) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(saida);
+        try (SequenceWriter writer = mapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(buffer)) {
+            matriculaService.exportarMatriculas(matricula -> {
+                try {
+                    writer.write(matricula);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        buffer.flush();
     }
 
     /**
      * Endpoint para buscar uma matrícula pelo ID.
      *
      * @param id ID da matrícula a ser buscada
-     * @return ResponseEntity com a matrícula encontrada ou status 404 (Not Found)
+     * @param request Requisição atual, usada para comparar a ETag com o If-None-Match
+     * @return ResponseEntity com a matrícula encontrada, status 304 (Not Modified) ou status 404 (Not Found)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<MatriculaDTO> buscarMatriculaPorId(@PathVariable Long id) {
+    @LeituraNaPrincipal
+    public ResponseEntity<MatriculaDTO> buscarMatriculaPorId(@PathVariable Long id, WebRequest request) {
+        // As matrículas incluem dados do aluno e do curso, então dependem das três coleções
+        String etag = versaoColecoes.etag(VersaoColecoes.PESSOAS, VersaoColecoes.CURSOS, VersaoColecoes.MATRICULAS);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified, sem consultar o banco
+        }
         Optional<MatriculaDTO> matricula = matriculaService.buscarPorId(id);
-        return matricula.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+        return matricula.map(value -> new ResponseEntity<>(value, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
      * Endpoint para listar todas as matrículas de um aluno específico.
+     * <p>
+     * Para reduzir o tamanho da resposta, o cliente pode pedir:
+     * <ul>
+     *   <li>{@code visao=resumo}: apenas ID e nome do aluno e do curso e os dados de cobrança;</li>
+     *   <li>{@code campos=...}: apenas os campos informados (o ID da matrícula sempre vem);</li>
+     *   <li>{@code visao=normalizada}: matrículas com alunoId e cursoId, e cada aluno e curso uma única vez
+     *       nas listas {@code pessoas} e {@code cursos}.</li>
+     * </ul>
+     * Nos dois primeiros casos só as colunas pedidas são lidas do banco.
      *
      * @param alunoId ID do aluno
-     * @return ResponseEntity com a lista de matrículas do aluno
+     * @param visao "completa" (padrão), "resumo" ou "normalizada"
+     * @param campos Campos de cada matrícula, separados por vírgula (ex: id,statusPagamento,curso.nome)
+     * @param request Requisição atual, usada para comparar a ETag com o If-None-Match
+     * @return ResponseEntity com a lista de matrículas do aluno ou status 400 (Bad Request) para visão ou campo inválido
      */
     @GetMapping("/aluno/{alunoId}")
-    public ResponseEntity<List<MatriculaDTO>> listarMatriculasPorAluno(@PathVariable Long alunoId) {
-        List<MatriculaDTO> matriculas = matriculaService.listarMatriculasPorAluno(alunoId);
-        return new ResponseEntity<>(matriculas, HttpStatus.OK);
+    @LeituraNaPrincipal
+    public ResponseEntity<?> listarMatriculasPorAluno(@PathVariable Long alunoId,
+                                                      @RequestParam(defaultValue = VISAO_COMPLETA) String visao,
+                                                      @RequestParam(required = false) List<String> campos,
+                                                      WebRequest request) {
+        // As matrículas incluem dados do aluno e do curso, então dependem das três coleções
+        String etag = versaoColecoes.etag(VersaoColecoes.PESSOAS, VersaoColecoes.CURSOS, VersaoColecoes.MATRICULAS);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified, sem consultar o banco
+        }
+        try {
+            Object matriculas;
+            if (VISAO_NORMALIZADA.equals(visao) && campos == null) {
+                matriculas = matriculaService.listarMatriculasPorAlunoNormalizadas(alunoId);
+            } else {
+                List<String> camposPedidos = camposDaVisao(visao, campos);
+                matriculas = camposPedidos == null
+                        ? matriculaService.listarMatriculasPorAluno(alunoId)
+                        : matriculaService.listarMatriculasPorAluno(alunoId, camposPedidos);
+            }
+            return new ResponseEntity<>(matriculas, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ErroDTO(HttpStatus.BAD_REQUEST.value(), e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
     }
 
     /**
@@ -95,11 +314,30 @@ public class MatriculaController {
             return new ResponseEntity<>(matriculaAtualizada, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição (ou a varredura de atrasos) alterou a matrícula ao mesmo tempo
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
 
+    /**
+     * Endpoint para atualizar o status de pagamento de várias matrículas (ex: arquivo de conciliação do banco).
+     *
+     * @param itens Lista com o id da matrícula e o novo status de cada item
+     * @return ResponseEntity com a quantidade de matrículas alteradas e os IDs não encontrados, ou status 400 para lote inválido
+     */
+    @PatchMapping("/status-pagamento")
+    public ResponseEntity<?> atualizarStatusPagamentoEmLote(@RequestBody List<MatriculaStatusItemDTO> itens) {
+        try {
+            AtualizacaoStatusLoteDTO resultado = matriculaService.atualizarStatusPagamentoEmLote(itens);
+            return new ResponseEntity<>(resultado, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ErroDTO(HttpStatus.BAD_REQUEST.value(), e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Endpoint para cancelar uma matrícula.
      *
@@ -111,10 +349,54 @@ public class MatriculaController {
         try {
             matriculaService.cancelarMatricula(id);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (OptimisticLockingFailureException e) {
+            // A matrícula foi alterada ao mesmo tempo por outra requisição
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
-}
 
+    // Campos a selecionar para a visão pedida, ou null para a representação completa (MatriculaDTO)
+    private static List<String> camposDaVisao(String visao, List<String> campos) {
+        switch (visao) {
+            case VISAO_COMPLETA:
+                return campos;
+            case VISAO_RESUMO:
+                if (campos != null) {
+                    throw new IllegalArgumentException("Informe a visão resumo ou a lista de campos, não ambos.");
+                }
+                return MatriculaService.CAMPOS_RESUMO;
+            case VISAO_NORMALIZADA:
+                throw new IllegalArgumentException("A visão normalizada não aceita a lista de campos.");
+            default:
+                throw new IllegalArgumentException("Visão desconhecida: " + visao + ". Use completa, resumo ou normalizada.");
+        }
+    }
+
+    private static String linhaCsv(MatriculaDTO matricula) {
+        return String.join(",",
+                valorCsv(matricula.getId()),
+                valorCsv(matricula.getAluno().getId()),
+                valorCsv(matricula.getAluno().getNome()),
+                valorCsv(matricula.getAluno().getCpf()),
+                valorCsv(matricula.getCurso().getId()),
+                valorCsv(matricula.getCurso().getNome()),
+                valorCsv(matricula.getDataMatricula()),
+                valorCsv(matricula.getValorCobrado() != null ? matricula.getValorCobrado().toPlainString() : null),
+                valorCsv(matricula.getStatusPagamento()),
+                valorCsv(matricula.getDataVencimento()));
+    }
 
+    // Aplica as regras de escape do CSV (RFC 4180) apenas quando necessário
+    private static String valorCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+}
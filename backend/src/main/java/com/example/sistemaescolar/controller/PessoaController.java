@@ -1,12 +1,32 @@
 package com.example.sistemaescolar.controller;
 
+import com.example.sistemaescolar.dto.PaginaDTO;
 import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.roteamento.LeituraNaPrincipal;
+import com.example.sistemaescolar.service.ImportacaoPessoas;
 import com.example.sistemaescolar.service.PessoaService;
+import com.example.sistemaescolar.service.VersaoColecoes;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,11 +34,21 @@ import java.util.Optional;
 @RequestMapping("/api/pessoas")
 public class PessoaController {
 
+    private static final String CABECALHO_TOTAL = "X-Total-Count";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final PessoaService pessoaService;
+    private final VersaoColecoes versaoColecoes;
+    private final ImportacaoPessoas importacaoPessoas;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public PessoaController(PessoaService pessoaService) {
+    public PessoaController(PessoaService pessoaService, VersaoColecoes versaoColecoes,
+                            ImportacaoPessoas importacaoPessoas, ObjectMapper objectMapper) {
         this.pessoaService = pessoaService;
+        this.versaoColecoes = versaoColecoes;
+        this.importacaoPessoas = importacaoPessoas;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -27,23 +57,107 @@ public class PessoaController {
         return new ResponseEntity<>(novaPessoa, HttpStatus.CREATED);
     }
 
+    /**
+     * Importa pessoas de um arquivo CSV (com cabeçalho nome,cpf,dataNascimento,email,telefone) ou NDJSON,
+     * enviado no corpo da requisição. O arquivo é lido como fluxo e o relatório é devolvido em NDJSON,
+     * uma linha por linha do arquivo, à medida que cada bloco é gravado.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<StreamingResponseBody> importarPessoas(@RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoConteudo,
+                                                                 InputStream corpo) {
+        boolean csv = MediaType.parseMediaType(tipoConteudo).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+
+        StreamingResponseBody relatorio = saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            Reader leitor = new InputStreamReader(corpo, StandardCharsets.UTF_8);
+            try {
+                importacaoPessoas.importar(leitor, csv, resultado -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(resultado));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // Ex: cliente encerrou a conexão no meio da importação
+            }
+            writer.flush();
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(NDJSON);
+        return new ResponseEntity<>(relatorio, headers, HttpStatus.OK);
+    }
+
     @GetMapping
-    public ResponseEntity<List<Pessoa>> listarTodasAsPessoas() {
+    @LeituraNaPrincipal
+    public ResponseEntity<List<Pessoa>> listarTodasAsPessoas(WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.PESSOAS);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified, sem consultar o banco
+        }
         List<Pessoa> pessoas = pessoaService.listarTodos();
-        return new ResponseEntity<>(pessoas, HttpStatus.OK);
+        return new ResponseEntity<>(pessoas, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK);
+    }
+
+    @GetMapping("/pagina")
+    @LeituraNaPrincipal
+    public ResponseEntity<PaginaDTO<Pessoa>> listarPessoasPaginadas(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "50") int tamanho,
+                                                                    @RequestParam(defaultValue = "false") boolean incluirTotal,
+                                                                    WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.PESSOAS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            PaginaDTO<Pessoa> pagina = pessoaService.listarPagina(cursor, tamanho);
+            HttpHeaders headers = CabecalhosCondicionais.comEtag(etag);
+            if (incluirTotal) {
+                // A contagem só é feita quando solicitada, pois exige percorrer a tabela inteira
+                headers.set(CABECALHO_TOTAL, String.valueOf(pessoaService.contarTodos()));
+            }
+            return new ResponseEntity<>(pagina, headers, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/busca")
+    @LeituraNaPrincipal
+    public ResponseEntity<List<Pessoa>> buscarPessoas(@RequestParam String termo,
+                                                      @RequestParam(defaultValue = "10") int limite,
+                                                      WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.PESSOAS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<Pessoa> pessoas = pessoaService.buscar(termo, limite);
+        return new ResponseEntity<>(pessoas, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Pessoa> buscarPessoaPorId(@PathVariable Long id) {
+    @LeituraNaPrincipal
+    public ResponseEntity<Pessoa> buscarPessoaPorId(@PathVariable Long id, WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.PESSOAS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Optional<Pessoa> pessoa = pessoaService.buscarPorId(id);
-        return pessoa.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+        return pessoa.map(value -> new ResponseEntity<>(value, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/cpf/{cpf}")
-    public ResponseEntity<Pessoa> buscarPessoaPorCpf(@PathVariable String cpf) {
+    @LeituraNaPrincipal
+    public ResponseEntity<Pessoa> buscarPessoaPorCpf(@PathVariable String cpf, WebRequest request) {
+        String etag = versaoColecoes.etag(VersaoColecoes.PESSOAS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Optional<Pessoa> pessoa = pessoaService.buscarPorCpf(cpf);
-        return pessoa.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+        return pessoa.map(value -> new ResponseEntity<>(value, CabecalhosCondicionais.comEtag(etag), HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -51,8 +165,16 @@ public class PessoaController {
     public ResponseEntity<Pessoa> atualizarPessoa(@PathVariable Long id, @RequestBody Pessoa pessoa) {
         // Garante que o ID da pessoa no corpo da requisição corresponde ao ID da URL
         pessoa.setId(id);
-        Pessoa pessoaAtualizada = pessoaService.salvar(pessoa);
-        return new ResponseEntity<>(pessoaAtualizada, HttpStatus.OK);
+        try {
+            Pessoa pessoaAtualizada = pessoaService.salvar(pessoa);
+            return new ResponseEntity<>(pessoaAtualizada, HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            // A versão enviada está desatualizada: outra requisição alterou a pessoa antes
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (EmptyResultDataAccessException e) {
+            // Não existe pessoa com o ID informado
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,35 @@
+package com.example.sistemaescolar.controller;
+
+import com.example.sistemaescolar.dto.RelatorioFinanceiroDTO;
+import com.example.sistemaescolar.service.RelatorioFinanceiroService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para os relatórios gerenciais.
+ */
+@RestController
+@RequestMapping("/api/relatorios")
+public class RelatorioController {
+
+    private final RelatorioFinanceiroService relatorioFinanceiroService;
+
+    // Injeção de dependência via construtor
+    public RelatorioController(RelatorioFinanceiroService relatorioFinanceiroService) {
+        this.relatorioFinanceiroService = relatorioFinanceiroService;
+    }
+
+    /**
+     * Endpoint para o relatório financeiro das matrículas (receita por status, por curso e por mês de vencimento).
+     * Os totais vêm de um resumo pré-agregado no banco, atualizado a cada poucos minutos.
+     *
+     * @return ResponseEntity com o relatório financeiro
+     */
+    @GetMapping("/financeiro")
+    public ResponseEntity<RelatorioFinanceiroDTO> relatorioFinanceiro() {
+        return new ResponseEntity<>(relatorioFinanceiroService.gerarRelatorioFinanceiro(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.sistemaescolar.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado da atualização de status de pagamento em lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoStatusLoteDTO {
+    private int recebidos; // Quantidade de itens na requisição
+    private int atualizadas; // Matrículas cujo status mudou (as que já estavam no status pedido não contam)
+    private List<Long> idsNaoEncontrados;
+}
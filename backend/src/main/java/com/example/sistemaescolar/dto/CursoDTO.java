@@ -1,5 +1,6 @@
 package com.example.sistemaescolar.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -16,6 +17,21 @@ public class CursoDTO {
     private BigDecimal valor;
     private Integer cargaHoraria;
     private boolean ativo;
+    private Integer vagas;
+
+    // Contadores de matrículas do curso; preenchidos apenas nas estatísticas de cursos
+    // (nas matrículas o curso vem sem eles, e os campos são omitidos do JSON)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalMatriculados;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalPagos;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal receita;
+
+    public CursoDTO(Long id, String nome, String descricao, BigDecimal valor, Integer cargaHoraria, boolean ativo,
+                    Integer vagas) {
+        this(id, nome, descricao, valor, cargaHoraria, ativo, vagas, null, null, null);
+    }
 }
 
 
@@ -0,0 +1,21 @@
+package com.example.sistemaescolar.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Corpo das respostas de erro da API de matrículas.
+ *
+ * @param status O status HTTP da resposta.
+ * @param mensagem A descrição do erro, para exibição ao usuário.
+ * @param campos O erro de cada campo inválido do corpo da requisição (omitido quando vazio).
+ */
+public record ErroDTO(int status,
+                      String mensagem,
+                      @JsonInclude(JsonInclude.Include.NON_EMPTY) Map<String, String> campos) {
+
+    public ErroDTO(int status, String mensagem) {
+        this(status, mensagem, Map.of());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.sistemaescolar.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Resultado de uma linha da importação de pessoas.
+ * Quando a pessoa é cadastrada, pessoaId vem preenchido e erro é null; caso contrário, erro traz o motivo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoPessoaResultadoDTO {
+    private long linha; // Número da linha no arquivo (a partir de 1, contando o cabeçalho do CSV)
+    private String cpf;
+    private Long pessoaId;
+    private String erro;
+}
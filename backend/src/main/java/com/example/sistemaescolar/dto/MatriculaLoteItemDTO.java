@@ -0,0 +1,21 @@
+package com.example.sistemaescolar.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Um item de uma matrícula em lote: os mesmos dados de POST /api/matriculas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculaLoteItemDTO {
+    private Long alunoId;
+    private Long cursoId;
+    private BigDecimal valorCobrado;
+    private LocalDate dataVencimento;
+}
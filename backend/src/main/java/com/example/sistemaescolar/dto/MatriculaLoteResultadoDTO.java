@@ -0,0 +1,20 @@
+package com.example.sistemaescolar.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Resultado de um item de uma matrícula em lote.
+ * Quando a matrícula é criada, matriculaId vem preenchido e erro é null; caso contrário, erro traz o motivo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculaLoteResultadoDTO {
+    private int indice; // Posição do item na requisição
+    private Long alunoId;
+    private Long cursoId;
+    private Long matriculaId;
+    private String erro;
+}
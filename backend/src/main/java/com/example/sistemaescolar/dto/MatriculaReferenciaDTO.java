@@ -0,0 +1,26 @@
+package com.example.sistemaescolar.dto;
+
+import com.example.sistemaescolar.model.StatusPagamento;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Matrícula na listagem normalizada: o aluno e o curso são referenciados pelo ID
+ * e enviados uma única vez em {@link MatriculasNormalizadasDTO}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculaReferenciaDTO {
+    private Long id;
+    private Long alunoId;
+    private Long cursoId;
+    private LocalDate dataMatricula;
+    private BigDecimal valorCobrado;
+    private StatusPagamento statusPagamento;
+    private LocalDate dataVencimento;
+}
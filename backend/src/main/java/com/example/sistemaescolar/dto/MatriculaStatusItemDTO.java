@@ -0,0 +1,17 @@
+package com.example.sistemaescolar.dto;
+
+import com.example.sistemaescolar.model.StatusPagamento;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Um par (matrícula, novo status) da atualização de status em lote, ex: uma linha do arquivo de conciliação bancária.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculaStatusItemDTO {
+    private Long id;
+    private StatusPagamento status;
+}
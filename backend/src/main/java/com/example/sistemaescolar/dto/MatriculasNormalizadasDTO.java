@@ -0,0 +1,25 @@
+package com.example.sistemaescolar.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Listagem de matrículas em que cada aluno e cada curso aparece uma única vez (em {@code pessoas}
+ * e {@code cursos}, ordenados por ID), em vez de repetido em todas as matrículas em que aparece.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatriculasNormalizadasDTO {
+    private List<MatriculaReferenciaDTO> itens;
+    private List<PessoaDTO> pessoas;
+    private List<CursoDTO> cursos;
+
+    // Presente apenas na listagem paginada, quando há próxima página
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String proximoCursor;
+}
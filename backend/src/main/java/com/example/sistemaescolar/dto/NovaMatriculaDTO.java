@@ -0,0 +1,32 @@
+package com.example.sistemaescolar.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Corpo de POST /api/matriculas. O Jackson lê o JSON direto para este registro (sem montar um mapa
+ * intermediário) e as anotações são validadas antes de chegar ao serviço.
+ */
+public record NovaMatriculaDTO(
+        @NotNull(message = "é obrigatório")
+        @Positive(message = "deve ser um ID válido")
+        Long alunoId,
+
+        @NotNull(message = "é obrigatório")
+        @Positive(message = "deve ser um ID válido")
+        Long cursoId,
+
+        // Mesma precisão da coluna valor_cobrado (NUMERIC(10, 2))
+        @NotNull(message = "é obrigatório")
+        @PositiveOrZero(message = "não pode ser negativo")
+        @Digits(integer = 8, fraction = 2, message = "deve ter no máximo 8 dígitos inteiros e 2 casas decimais")
+        BigDecimal valorCobrado,
+
+        @NotNull(message = "é obrigatório")
+        LocalDate dataVencimento) {
+}
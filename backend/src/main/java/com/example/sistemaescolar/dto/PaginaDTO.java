@@ -0,0 +1,19 @@
+package com.example.sistemaescolar.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset sobre o ID).
+ * O cursor é opaco para o cliente: basta reenviá-lo para obter a próxima página.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    private List<T> itens;
+    private String proximoCursor; // null quando não há mais páginas
+}
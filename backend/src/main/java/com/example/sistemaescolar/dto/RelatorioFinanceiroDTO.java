@@ -0,0 +1,21 @@
+package com.example.sistemaescolar.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Relatório financeiro das matrículas, agrupado por status de pagamento, por curso e por mês de vencimento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioFinanceiroDTO {
+    private Instant atualizadoEm; // Momento da última atualização do resumo no banco
+    private List<TotalFinanceiroDTO> porStatus;
+    private List<TotalFinanceiroDTO> porCurso;
+    private List<TotalFinanceiroDTO> porMesVencimento;
+}
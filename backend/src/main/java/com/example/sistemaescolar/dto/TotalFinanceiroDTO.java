@@ -0,0 +1,20 @@
+package com.example.sistemaescolar.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Uma linha do relatório financeiro: a quantidade de matrículas e a soma do valor cobrado de um grupo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalFinanceiroDTO {
+    private String chave; // Status, ID do curso ou mês (AAAA-MM); null para matrículas sem vencimento
+    private String descricao; // Nome do curso, quando agrupado por curso
+    private long quantidade;
+    private BigDecimal valorTotal;
+}
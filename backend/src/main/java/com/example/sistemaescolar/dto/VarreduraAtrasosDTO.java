@@ -0,0 +1,20 @@
+package com.example.sistemaescolar.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de uma execução da varredura de atrasos (PENDENTE -> ATRASADO).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VarreduraAtrasosDTO {
+    private LocalDate dataReferencia; // Matrículas com vencimento anterior a esta data foram consideradas
+    private int matriculasAtualizadas;
+    private int faixasProcessadas;
+    private long duracaoMs;
+}
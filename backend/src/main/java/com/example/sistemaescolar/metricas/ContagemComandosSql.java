@@ -0,0 +1,64 @@
+package com.example.sistemaescolar.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate durante cada requisição HTTP e registra o total
+ * na métrica {@value #METRICA}, com as tags method e uri (o padrão da rota, ex: /api/matriculas/{id}).
+ * Um aumento nessa contagem para uma mesma rota costuma indicar um N+1 novo.
+ * <p>
+ * A mesma instância é o {@link StatementInspector} do Hibernate (que só conta, sem alterar o SQL)
+ * e o filtro que abre e fecha a contagem da requisição. Comandos fora de uma requisição
+ * (ex: tarefas agendadas) não são contados.
+ */
+public class ContagemComandosSql extends OncePerRequestFilter implements StatementInspector {
+
+    static final String METRICA = "hibernate.statements.por.requisicao";
+
+    private static final ThreadLocal<int[]> COMANDOS_DA_REQUISICAO = new ThreadLocal<>();
+
+    private final transient MeterRegistry registry;
+
+    public ContagemComandosSql(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] contador = COMANDOS_DA_REQUISICAO.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int[] contador = new int[1];
+        COMANDOS_DA_REQUISICAO.set(contador);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            COMANDOS_DA_REQUISICAO.remove();
+            Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRICA)
+                    .description("Comandos SQL executados pelo Hibernate por requisição")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", rota != null ? rota.toString() : "UNKNOWN")
+                    .register(registry)
+                    .record(contador[0]);
+        }
+    }
+}
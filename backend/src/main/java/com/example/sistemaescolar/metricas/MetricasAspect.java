@@ -0,0 +1,87 @@
+package com.example.sistemaescolar.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a duração de cada chamada aos serviços (beans *ServiceImpl) e aos repositórios (beans *Repository).
+ * Cada método tem um Timer com as tags classe, metodo e excecao ("none" quando a chamada termina sem erro),
+ * então a contagem do Timer por excecao é também a contagem de erros por tipo de exceção.
+ * Fica por fora das transações e do cache, para medir o tempo visto por quem chama (commit incluído).
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasAspect {
+
+    static final String METRICA_SERVICOS = "sistemaescolar.servico";
+    static final String METRICA_REPOSITORIOS = "sistemaescolar.repositorio";
+
+    private static final String PACOTE_APLICACAO = "com.example.sistemaescolar.";
+    private static final String SEM_EXCECAO = "none";
+
+    private final MeterRegistry registry;
+
+    // Nome exibido de cada classe de proxy, calculado uma vez
+    private final Map<Class<?>, String> nomesPorClasse = new ConcurrentHashMap<>();
+
+    public MetricasAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * *(..)) && bean(*ServiceImpl)")
+    public Object medirServico(ProceedingJoinPoint pontoDeJuncao) throws Throwable {
+        return medir(METRICA_SERVICOS, pontoDeJuncao);
+    }
+
+    @Around("execution(public * *(..)) && bean(*Repository)")
+    public Object medirRepositorio(ProceedingJoinPoint pontoDeJuncao) throws Throwable {
+        return medir(METRICA_REPOSITORIOS, pontoDeJuncao);
+    }
+
+    Object medir(String metrica, ProceedingJoinPoint pontoDeJuncao) throws Throwable {
+        long inicio = System.nanoTime();
+        String excecao = SEM_EXCECAO;
+        try {
+            return pontoDeJuncao.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder(metrica)
+                    .tag("classe", nomeDaClasse(pontoDeJuncao))
+                    .tag("metodo", pontoDeJuncao.getSignature().getName())
+                    .tag("excecao", excecao)
+                    .register(registry)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Serviços: a classe de implementação (ex: MatriculaServiceImpl).
+    // Repositórios: a interface da aplicação implementada pelo proxy (ex: MatriculaRepository),
+    // já que a implementação é sempre a SimpleJpaRepository do Spring Data.
+    private String nomeDaClasse(ProceedingJoinPoint pontoDeJuncao) {
+        Object proxy = pontoDeJuncao.getThis();
+        return nomesPorClasse.computeIfAbsent(proxy.getClass(), classeProxy -> {
+            Class<?> alvo = AopUtils.getTargetClass(pontoDeJuncao.getTarget());
+            if (alvo.getName().startsWith(PACOTE_APLICACAO)) {
+                return alvo.getSimpleName();
+            }
+            for (Class<?> interfaceProxy : classeProxy.getInterfaces()) {
+                if (interfaceProxy.getName().startsWith(PACOTE_APLICACAO)) {
+                    return interfaceProxy.getSimpleName();
+                }
+            }
+            return alvo.getSimpleName();
+        });
+    }
+}
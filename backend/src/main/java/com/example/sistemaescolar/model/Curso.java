@@ -4,7 +4,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.persistence.Column;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,7 +23,8 @@ import java.math.BigDecimal;
 public class Curso {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cursos_seq")
+    @SequenceGenerator(name = "cursos_seq", sequenceName = "cursos_seq", allocationSize = 50) // Reserva 50 IDs por chamada à sequence
     private Long id;
 
     @Column(nullable = false, length = 150)
@@ -39,6 +42,12 @@ public class Curso {
     @Column(nullable = false)
     private boolean ativo = true; // Valor padrão true ao criar um novo curso
 
+    @Column
+    private Integer vagas; // Limite de matrículas; null = sem limite
+
+    @Version // Controle de concorrência otimista; incrementada a cada atualização
+    private Long versao;
+
     // Lombok gera getters, setters, toString, etc.
     // O campo 'ativo' com valor padrão true é inicializado aqui.
     // Se precisar de um construtor que não inclua o 'id' (útil para criar novos cursos antes de salvar),
@@ -10,7 +10,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "matriculas")
+@Table(name = "matriculas",
+        uniqueConstraints = @UniqueConstraint(name = "uk_matriculas_pessoa_curso", columnNames = {"pessoa_id", "curso_id"})) // Um aluno só pode ter uma matrícula por curso
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +19,8 @@ import java.time.LocalDate;
 public class Matricula {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matriculas_seq")
+    @SequenceGenerator(name = "matriculas_seq", sequenceName = "matriculas_seq", allocationSize = 50) // Reserva 50 IDs por chamada à sequence
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY) // Muitos para Um: Muitas matrículas podem pertencer a uma Pessoa (aluno).
@@ -42,6 +44,9 @@ public class Matricula {
     @Column(name = "data_vencimento") // Pode ser nulo se o pagamento for único e já pago?
     private LocalDate dataVencimento;
 
+    @Version // Controle de concorrência otimista; incrementada a cada atualização
+    private Long versao;
+
     // Lombok gera getters, setters, toString, etc.
     // FetchType.LAZY é uma otimização: os dados do Aluno e Curso só serão carregados do banco
     // quando você explicitamente acessá-los (ex: matricula.getAluno().getNome()),
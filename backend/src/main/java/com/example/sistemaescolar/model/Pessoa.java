@@ -4,7 +4,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.persistence.Column;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,7 +24,8 @@ import java.time.LocalDate;
 public class Pessoa {
 
     @Id // JPA: Chave primária
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // JPA: Geração automática do ID
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pessoas_seq") // JPA: ID gerado por sequence (permite inserts em lote)
+    @SequenceGenerator(name = "pessoas_seq", sequenceName = "pessoas_seq", allocationSize = 50) // JPA: Reserva 50 IDs por chamada à sequence
     private Long id;
 
     @Column(nullable = false, length = 100) // JPA: Coluna nome, não nula, tamanho 100
@@ -40,6 +43,9 @@ public class Pessoa {
     @Column(length = 20) // JPA: Coluna telefone, tamanho 20
     private String telefone;
 
+    @Version // JPA: Controle de concorrência otimista; incrementada a cada atualização
+    private Long versao;
+
     // Observe como os getters, setters, construtores, equals, hashCode e toString
     // foram removidos. O Lombok gerará tudo isso em tempo de compilação!
 }
@@ -0,0 +1,101 @@
+package com.example.sistemaescolar.repository;
+
+import com.example.sistemaescolar.model.Curso;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Acesso aos contadores de matrículas por curso (tabela cursos_contadores,
+ * criada em db/migration/V5__contadores_cursos.sql).
+ * Os contadores são alterados apenas por incrementos, na transação da operação que os afeta;
+ * a linha do curso é criada no primeiro incremento.
+ */
+@Repository
+public interface ContadoresCursoRepository extends org.springframework.data.repository.Repository<Curso, Long> {
+
+    /**
+     * Soma os valores informados aos contadores do curso (use valores negativos para subtrair).
+     * O UPDATE bloqueia a linha do curso até o fim da transação, então incrementos concorrentes
+     * no mesmo curso são aplicados um após o outro, sem perda.
+     *
+     * @param cursoId O ID do curso.
+     * @param matriculados A variação da quantidade de matrículas.
+     * @param pagos A variação da quantidade de matrículas pagas.
+     * @param receita A variação da receita (valor cobrado das matrículas pagas).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO cursos_contadores (curso_id, matriculados, pagos, receita)
+            VALUES (:cursoId, :matriculados, :pagos, :receita)
+            ON CONFLICT (curso_id) DO UPDATE
+            SET matriculados = cursos_contadores.matriculados + EXCLUDED.matriculados,
+                pagos = cursos_contadores.pagos + EXCLUDED.pagos,
+                receita = cursos_contadores.receita + EXCLUDED.receita
+            """, nativeQuery = true)
+    void somar(@Param("cursoId") Long cursoId,
+               @Param("matriculados") long matriculados,
+               @Param("pagos") long pagos,
+               @Param("receita") BigDecimal receita);
+
+    /**
+     * Reserva vagas em um curso com limite, somando a quantidade aos matriculados apenas se o total
+     * continuar dentro do limite. A verificação e o incremento são um único comando: o INSERT cria a
+     * linha do curso na primeira matrícula e, se ela já existir, o UPDATE condicional é avaliado sobre
+     * a versão mais recente da linha, bloqueada até o fim da transação. Assim, matrículas concorrentes
+     * nunca ultrapassam o limite e apenas a linha de contadores do curso é bloqueada.
+     *
+     * @param cursoId O ID do curso.
+     * @param quantidade A quantidade de vagas a reservar.
+     * @param vagas O limite de vagas do curso.
+     * @return 1 se as vagas foram reservadas, 0 se não há vagas suficientes.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO cursos_contadores (curso_id, matriculados, pagos, receita)
+            SELECT :cursoId, :quantidade, 0, 0
+            WHERE :quantidade <= :vagas
+            ON CONFLICT (curso_id) DO UPDATE
+            SET matriculados = cursos_contadores.matriculados + EXCLUDED.matriculados
+            WHERE cursos_contadores.matriculados + EXCLUDED.matriculados <= :vagas
+            """, nativeQuery = true)
+    int reservarVagas(@Param("cursoId") Long cursoId,
+                      @Param("quantidade") int quantidade,
+                      @Param("vagas") int vagas);
+
+    /**
+     * Busca a quantidade de matrículas do curso pela chave primária.
+     *
+     * @param cursoId O ID do curso.
+     * @return A quantidade de matrículas, ou vazio se o curso nunca teve matrículas.
+     */
+    @Query(value = "SELECT matriculados FROM cursos_contadores WHERE curso_id = :cursoId", nativeQuery = true)
+    Optional<Long> findMatriculados(@Param("cursoId") Long cursoId);
+
+    /**
+     * Busca os contadores dos cursos informados.
+     *
+     * @param cursoIds Os IDs dos cursos.
+     * @return Uma lista de arrays {cursoId, matriculados, pagos, receita}; cursos sem linha não aparecem.
+     */
+    @Query(value = """
+            SELECT curso_id, matriculados, pagos, receita
+            FROM cursos_contadores
+            WHERE curso_id IN (:cursoIds)
+            """, nativeQuery = true)
+    List<Object[]> findContadores(@Param("cursoIds") Collection<Long> cursoIds);
+
+    /**
+     * Busca os contadores de todos os cursos que já tiveram matrículas.
+     *
+     * @return Uma lista de arrays {cursoId, matriculados, pagos, receita}.
+     */
+    @Query(value = "SELECT curso_id, matriculados, pagos, receita FROM cursos_contadores", nativeQuery = true)
+    List<Object[]> findTodos();
+}
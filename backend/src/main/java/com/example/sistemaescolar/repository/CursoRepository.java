@@ -1,7 +1,12 @@
 package com.example.sistemaescolar.repository;
 
 import com.example.sistemaescolar.model.Curso;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,10 +21,15 @@ public interface CursoRepository extends JpaRepository<Curso, Long> {
     /**
      * Busca todos os cursos que estão ativos.
      * O Spring Data JPA implementa este método automaticamente baseado no nome.
+     * Os cursos são carregados como somente leitura (vão para o cache, não são alterados).
      *
      * @return Uma lista de cursos ativos.
      */
-    List<Curso> findByAtivoTrue();
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Curso> findSomenteLeituraByAtivoTrue();
 
     /**
      * Busca todos os cursos que não estão ativos.
@@ -29,6 +39,34 @@ public interface CursoRepository extends JpaRepository<Curso, Long> {
      */
     List<Curso> findByAtivoFalse();
 
+    /**
+     * Busca os cursos com ID maior que o informado, em ordem de ID (paginação keyset).
+     * Os cursos são carregados como somente leitura.
+     *
+     * @param id O último ID já entregue ao cliente.
+     * @param pageable Limite de registros (sempre a primeira página, sem offset).
+     * @return Os próximos cursos ordenados por ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Curso> findSomenteLeituraByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Busca todos os cursos, carregados como somente leitura: o Hibernate não guarda a cópia do estado
+     * de cada entidade para a verificação de alterações nem faz o flush antes da consulta.
+     * Usado apenas nas listagens; os cursos retornados não devem ser alterados e salvos.
+     *
+     * @return Todos os cursos.
+     */
+    @Query("select c from Curso c")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Curso> findTodosSomenteLeitura();
+
     // JpaRepository<Curso, Long> já fornece métodos como:
     // - save(Curso curso): Salva ou atualiza um curso.
     // - findById(Long id): Busca um curso pelo ID.
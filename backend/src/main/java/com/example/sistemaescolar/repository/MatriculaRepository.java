@@ -2,11 +2,24 @@ package com.example.sistemaescolar.repository;
 
 import com.example.sistemaescolar.model.Matricula;
 import com.example.sistemaescolar.model.StatusPagamento;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade Matricula.
@@ -17,12 +30,81 @@ public interface MatriculaRepository extends JpaRepository<Matricula, Long> {
 
     /**
      * Busca todas as matrículas de um aluno específico, usando o ID do aluno.
+     * O aluno e o curso são carregados na mesma consulta (JOIN FETCH via entity graph).
      *
      * @param alunoId O ID da Pessoa (aluno).
      * @return Uma lista de matrículas pertencentes ao aluno.
      */
+    @EntityGraph(attributePaths = {"aluno", "curso"})
     List<Matricula> findByAlunoId(Long alunoId);
 
+    /**
+     * Mesma consulta de {@link #findByAlunoId}, com as entidades carregadas como somente leitura, pois
+     * só são usadas para montar os DTOs. Apenas para transações somente leitura: alterações feitas nas
+     * matrículas retornadas não são gravadas.
+     *
+     * @param alunoId O ID da Pessoa (aluno).
+     * @return Uma lista de matrículas pertencentes ao aluno.
+     */
+    @EntityGraph(attributePaths = {"aluno", "curso"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Matricula> findSomenteLeituraByAlunoId(Long alunoId);
+
+    /**
+     * Busca uma matrícula pelo ID já com o aluno e o curso carregados em uma única consulta, como
+     * somente leitura. Para alterar a matrícula, use {@code findById}.
+     *
+     * @param id O ID da matrícula.
+     * @return Um Optional contendo a matrícula com aluno e curso inicializados.
+     */
+    @EntityGraph(attributePaths = {"aluno", "curso"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    Optional<Matricula> findSomenteLeituraComAlunoECursoById(Long id);
+
+    /**
+     * Busca as matrículas com ID maior que o informado, em ordem de ID (paginação keyset),
+     * já com aluno e curso carregados, como somente leitura (usado apenas nas listagens).
+     *
+     * @param id O último ID já entregue ao cliente.
+     * @param pageable Limite de registros (sempre a primeira página, sem offset).
+     * @return As próximas matrículas ordenadas por ID.
+     */
+    @EntityGraph(attributePaths = {"aluno", "curso"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Matricula> findSomenteLeituraByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Busca as colunas da própria matrícula, com o aluno e o curso apenas pelo ID (sem JOIN),
+     * para as matrículas de um aluno. Usado na listagem normalizada.
+     *
+     * @param alunoId O ID do aluno.
+     * @return Uma lista de arrays {id, alunoId, cursoId, dataMatricula, valorCobrado, statusPagamento, dataVencimento}, em ordem de ID.
+     */
+    @Query("select m.id, m.aluno.id, m.curso.id, m.dataMatricula, m.valorCobrado, m.statusPagamento, m.dataVencimento "
+            + "from Matricula m where m.aluno.id = :alunoId order by m.id")
+    List<Object[]> findReferenciasPorAluno(@Param("alunoId") Long alunoId);
+
+    /**
+     * Mesmas colunas de {@link #findReferenciasPorAluno(Long)}, para as matrículas com ID maior que o
+     * informado (paginação keyset).
+     *
+     * @param id O último ID já entregue ao cliente.
+     * @param pageable Limite de registros (sempre a primeira página, sem offset).
+     * @return Uma lista de arrays {id, alunoId, cursoId, dataMatricula, valorCobrado, statusPagamento, dataVencimento}, em ordem de ID.
+     */
+    @Query("select m.id, m.aluno.id, m.curso.id, m.dataMatricula, m.valorCobrado, m.statusPagamento, m.dataVencimento "
+            + "from Matricula m where m.id > :id order by m.id")
+    List<Object[]> findReferenciasApos(@Param("id") Long id, Pageable pageable);
+
     /**
      * Busca todas as matrículas de um curso específico, usando o ID do curso.
      *
@@ -48,6 +130,79 @@ public interface MatriculaRepository extends JpaRepository<Matricula, Long> {
      */
     List<Matricula> findByDataVencimentoBeforeAndStatusPagamento(LocalDate dataLimite, StatusPagamento status);
 
+    /**
+     * Busca o menor e o maior ID entre as matrículas com o status informado e vencidas antes da data.
+     * Define a faixa de IDs percorrida em blocos pela varredura de atrasos.
+     *
+     * @param status O status de pagamento das matrículas.
+     * @param dataLimite As matrículas com vencimento anterior a esta data são consideradas.
+     * @return Uma lista com um único array {menorId, maiorId}; ambos null se nenhuma matrícula atender.
+     */
+    @Query("select min(m.id), max(m.id) from Matricula m where m.statusPagamento = :status and m.dataVencimento < :dataLimite")
+    List<Object[]> findFaixaIdsPorStatusEVencimentoAntes(@Param("status") StatusPagamento status,
+                                                         @Param("dataLimite") LocalDate dataLimite);
+
+    /**
+     * Altera, com um único UPDATE, o status das matrículas vencidas dentro de uma faixa de IDs.
+     * Só atinge as matrículas que ainda estão no status atual, então executar de novo não tem efeito.
+     * A versão é incrementada para que edições concorrentes da mesma matrícula recebam conflito.
+     *
+     * @param statusAtual O status que as matrículas devem ter para serem alteradas.
+     * @param novoStatus O novo status.
+     * @param dataLimite As matrículas com vencimento anterior a esta data são alteradas.
+     * @param idInicial O primeiro ID da faixa (inclusive).
+     * @param idFinal O último ID da faixa (inclusive).
+     * @return A quantidade de matrículas alteradas.
+     */
+    @Modifying
+    @Query("update Matricula m set m.statusPagamento = :novoStatus, m.versao = m.versao + 1 "
+            + "where m.id between :idInicial and :idFinal and m.statusPagamento = :statusAtual and m.dataVencimento < :dataLimite")
+    int atualizarStatusVencidasNaFaixa(@Param("statusAtual") StatusPagamento statusAtual,
+                                       @Param("novoStatus") StatusPagamento novoStatus,
+                                       @Param("dataLimite") LocalDate dataLimite,
+                                       @Param("idInicial") Long idInicial,
+                                       @Param("idFinal") Long idFinal);
+
+    /**
+     * Busca, entre os IDs informados, as matrículas existentes com o curso, o status e o valor cobrado,
+     * bloqueando-as (SELECT ... FOR UPDATE) até o fim da transação. Assim o status lido é o que será
+     * substituído, e os contadores do curso podem ser ajustados sem carregar as entidades.
+     *
+     * @param ids Os IDs a verificar.
+     * @return Uma lista de arrays {id, cursoId, statusPagamento, valorCobrado}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m.id, m.curso.id, m.statusPagamento, m.valorCobrado from Matricula m where m.id in :ids")
+    List<Object[]> findSituacaoParaAtualizacao(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Altera, com um único UPDATE, o status de pagamento das matrículas informadas.
+     * As que já estão no status pedido não são alteradas nem têm a versão incrementada.
+     *
+     * @param status O novo status de pagamento.
+     * @param ids Os IDs das matrículas.
+     * @return A quantidade de matrículas alteradas.
+     */
+    @Modifying
+    @Query("update Matricula m set m.statusPagamento = :status, m.versao = m.versao + 1 "
+            + "where m.id in :ids and m.statusPagamento <> :status")
+    int atualizarStatusPorIds(@Param("status") StatusPagamento status, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Percorre todas as matrículas, com aluno e curso, sem carregar a lista inteira em memória.
+     * O resultado é lido do cursor JDBC em blocos (fetch size) e as entidades são carregadas
+     * como somente leitura. Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Um Stream de matrículas ordenadas por ID.
+     */
+    @Query("select m from Matricula m join fetch m.aluno join fetch m.curso order by m.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Matricula> streamAllComAlunoECurso();
+
     /**
      * Verifica se já existe uma matrícula para um aluno específico em um curso específico.
      *
@@ -56,6 +211,19 @@ public interface MatriculaRepository extends JpaRepository<Matricula, Long> {
      * @return true se a matrícula já existe, false caso contrário.
      */
     boolean existsByAlunoIdAndCursoId(Long alunoId, Long cursoId);
+
+    /**
+     * Busca, em uma única consulta, os pares (alunoId, cursoId) já matriculados entre os informados.
+     * Usado na matrícula em lote no lugar de um existsByAlunoIdAndCursoId por item.
+     * O resultado pode conter pares que não foram pedidos (produto dos dois filtros); o chamador deve conferi-los.
+     *
+     * @param alunoIds Os IDs dos alunos do lote.
+     * @param cursoIds Os IDs dos cursos do lote.
+     * @return Uma lista de arrays {alunoId, cursoId}.
+     */
+    @Query("select m.aluno.id, m.curso.id from Matricula m where m.aluno.id in :alunoIds and m.curso.id in :cursoIds")
+    List<Object[]> findParesAlunoCurso(@Param("alunoIds") Collection<Long> alunoIds,
+                                       @Param("cursoIds") Collection<Long> cursoIds);
     
     /**
      * Verifica se existem matrículas para um curso específico.
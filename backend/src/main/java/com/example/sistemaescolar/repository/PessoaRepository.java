@@ -1,9 +1,17 @@
 package com.example.sistemaescolar.repository;
 
 import com.example.sistemaescolar.model.Pessoa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,6 +31,75 @@ public interface PessoaRepository extends JpaRepository<Pessoa, Long> {
      */
     Optional<Pessoa> findByCpf(String cpf);
 
+    /**
+     * Busca todas as pessoas, carregadas como somente leitura: o Hibernate não guarda a cópia do estado
+     * de cada entidade para a verificação de alterações nem faz o flush antes da consulta.
+     * Usado apenas nas listagens; as pessoas retornadas não devem ser alteradas e salvas.
+     *
+     * @return Todas as pessoas.
+     */
+    @Query("select p from Pessoa p")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Pessoa> findTodasSomenteLeitura();
+
+    /**
+     * Busca, entre os CPFs informados, os que já estão cadastrados.
+     * Usado na importação em blocos no lugar de um findByCpf por pessoa.
+     *
+     * @param cpfs Os CPFs a verificar.
+     * @return Os CPFs já cadastrados.
+     */
+    @Query("select p.cpf from Pessoa p where p.cpf in :cpfs")
+    List<String> findCpfsExistentes(@Param("cpfs") Collection<String> cpfs);
+
+    /**
+     * Busca as pessoas com ID maior que o informado, em ordem de ID (paginação keyset).
+     * Como o retorno é uma List, o Spring Data não executa a consulta de contagem do Pageable.
+     * As pessoas são carregadas como somente leitura.
+     *
+     * @param id O último ID já entregue ao cliente.
+     * @param pageable Limite de registros (sempre a primeira página, sem offset).
+     * @return As próximas pessoas ordenadas por ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Pessoa> findSomenteLeituraByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Busca pessoas por trecho ou semelhança do nome (sem acentos), prefixo do email ou prefixo do CPF.
+     * Cada critério é atendido por um índice de expressão (trigramas ou text_pattern_ops) criado em
+     * db/migration/V2__busca_pessoas.sql. O resultado é ordenado por relevância: CPF, início do nome e similaridade.
+     *
+     * @param termo O termo já normalizado (minúsculas e sem acentos), com {@code \}, {@code %} e {@code _}
+     *              escapados por {@code \} para valerem literalmente nos LIKE. A similaridade de trigramas
+     *              ignora esses caracteres, então o mesmo termo serve aos dois critérios.
+     * @param cpf Apenas os dígitos do termo, ou vazio se o termo não tiver dígitos.
+     * @param limite A quantidade máxima de pessoas retornadas.
+     * @return As pessoas encontradas (somente leitura), da mais para a menos relevante.
+     */
+    @Query(value = """
+            SELECT p.* FROM pessoas p
+            WHERE f_unaccent(lower(p.nome)) LIKE '%' || :termo || '%' ESCAPE '\\'
+               OR f_unaccent(lower(p.nome)) % :termo
+               OR lower(p.email) LIKE :termo || '%' ESCAPE '\\'
+               OR (:cpf <> '' AND regexp_replace(p.cpf, '[^0-9]', '', 'g') LIKE :cpf || '%' ESCAPE '\\')
+            ORDER BY (:cpf <> '' AND regexp_replace(p.cpf, '[^0-9]', '', 'g') LIKE :cpf || '%' ESCAPE '\\') DESC,
+                     (f_unaccent(lower(p.nome)) LIKE :termo || '%' ESCAPE '\\') DESC,
+                     similarity(f_unaccent(lower(p.nome)), :termo) DESC,
+                     p.id
+            LIMIT :limite
+            """, nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<Pessoa> findRanqueadasPorTermo(@Param("termo") String termo, @Param("cpf") String cpf, @Param("limite") int limite);
+
     // O JpaRepository<Pessoa, Long> já fornece métodos como:
     // - save(Pessoa pessoa): Salva ou atualiza uma pessoa.
     // - findById(Long id): Busca uma pessoa pelo ID.
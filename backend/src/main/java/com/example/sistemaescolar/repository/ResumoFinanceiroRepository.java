@@ -0,0 +1,80 @@
+package com.example.sistemaescolar.repository;
+
+import com.example.sistemaescolar.model.Matricula;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Consultas do relatório financeiro sobre a materialized view resumo_financeiro
+ * (criada em db/migration/V4__resumo_financeiro.sql), que já traz as matrículas
+ * agrupadas por curso, status de pagamento e mês de vencimento.
+ * Não estende JpaRepository porque não expõe operações de CRUD sobre matrículas.
+ */
+@Repository
+public interface ResumoFinanceiroRepository extends org.springframework.data.repository.Repository<Matricula, Long> {
+
+    /**
+     * Soma as matrículas por status de pagamento.
+     *
+     * @return Uma lista de arrays {status, quantidade, valorTotal}.
+     */
+    @Query(value = """
+            SELECT status_pagamento, CAST(SUM(quantidade) AS BIGINT), SUM(valor_total)
+            FROM resumo_financeiro
+            GROUP BY status_pagamento
+            ORDER BY status_pagamento
+            """, nativeQuery = true)
+    List<Object[]> somarPorStatus();
+
+    /**
+     * Soma as matrículas por curso.
+     *
+     * @return Uma lista de arrays {cursoId, cursoNome, quantidade, valorTotal}, ordenada pelo nome do curso.
+     */
+    @Query(value = """
+            SELECT r.curso_id, c.nome, CAST(SUM(r.quantidade) AS BIGINT), SUM(r.valor_total)
+            FROM resumo_financeiro r
+            JOIN cursos c ON c.id = r.curso_id
+            GROUP BY r.curso_id, c.nome
+            ORDER BY c.nome
+            """, nativeQuery = true)
+    List<Object[]> somarPorCurso();
+
+    /**
+     * Soma as matrículas por mês de vencimento.
+     *
+     * @return Uma lista de arrays {mesVencimento, quantidade, valorTotal}; o mês é null para matrículas sem vencimento.
+     */
+    @Query(value = """
+            SELECT mes_vencimento, CAST(SUM(quantidade) AS BIGINT), SUM(valor_total)
+            FROM resumo_financeiro
+            GROUP BY mes_vencimento
+            ORDER BY mes_vencimento NULLS LAST
+            """, nativeQuery = true)
+    List<Object[]> somarPorMesVencimento();
+
+    /**
+     * Conta as linhas inseridas, alteradas e excluídas em matrículas e cursos desde a criação das
+     * estatísticas do servidor. O contador é o mesmo para todas as instâncias do backend, ao contrário
+     * das versões em memória, e também reflete alterações feitas fora da aplicação.
+     * As estatísticas são publicadas pelo PostgreSQL com até alguns segundos de atraso.
+     *
+     * @return A soma de inserções, alterações e exclusões das duas tabelas.
+     */
+    @Query(value = """
+            SELECT CAST(COALESCE(SUM(n_tup_ins + n_tup_upd + n_tup_del), 0) AS BIGINT)
+            FROM pg_stat_user_tables
+            WHERE relid IN ('matriculas'::regclass, 'cursos'::regclass)
+            """, nativeQuery = true)
+    long contarAlteracoes();
+
+    /**
+     * Recalcula a materialized view sem bloquear as leituras do relatório.
+     */
+    @Modifying
+    @Query(value = "REFRESH MATERIALIZED VIEW CONCURRENTLY resumo_financeiro", nativeQuery = true)
+    void atualizarResumo();
+}
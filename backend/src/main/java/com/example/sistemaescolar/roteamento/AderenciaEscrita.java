@@ -0,0 +1,65 @@
+package com.example.sistemaescolar.roteamento;
+
+import java.time.Duration;
+
+/**
+ * Garante a leitura das próprias escritas ("read-your-writes"): depois de uma escrita, as leituras
+ * do mesmo cliente vão para o banco principal durante a janela configurada, até que a réplica tenha
+ * recebido a alteração.
+ * <p>
+ * Dentro de uma mesma thread (ex: uma requisição que grava e depois lê) a escrita é registrada pelo
+ * próprio {@link RoteamentoDataSource}. Entre requisições, o {@link AderenciaEscritaFiltro} marca a
+ * requisição a partir do cookie devolvido após a última escrita do cliente.
+ */
+public class AderenciaEscrita {
+
+    private final long janelaNanos;
+
+    // Instante (System.nanoTime) da última escrita vista nesta thread
+    private final ThreadLocal<Long> ultimaEscrita = new ThreadLocal<>();
+
+    // Quantidade de chamadas aninhadas que pediram o principal (ver LeituraNaPrincipal)
+    private final ThreadLocal<int[]> leiturasNaPrincipal = ThreadLocal.withInitial(() -> new int[1]);
+
+    public AderenciaEscrita(Duration janela) {
+        this.janelaNanos = janela.toNanos();
+    }
+
+    public Duration getJanela() {
+        return Duration.ofNanos(janelaNanos);
+    }
+
+    /**
+     * Registra uma escrita agora na thread atual.
+     */
+    public void registrarEscrita() {
+        ultimaEscrita.set(System.nanoTime());
+    }
+
+    /**
+     * Indica se as leituras da thread atual devem ir para o banco principal.
+     */
+    public boolean exigePrincipal() {
+        if (leiturasNaPrincipal.get()[0] > 0) {
+            return true;
+        }
+        Long instante = ultimaEscrita.get();
+        return instante != null && System.nanoTime() - instante < janelaNanos;
+    }
+
+    void iniciarLeituraNaPrincipal() {
+        leiturasNaPrincipal.get()[0]++;
+    }
+
+    void encerrarLeituraNaPrincipal() {
+        leiturasNaPrincipal.get()[0]--;
+    }
+
+    /**
+     * Descarta o estado da thread ao fim da requisição (as threads do Tomcat são reaproveitadas).
+     */
+    public void limpar() {
+        ultimaEscrita.remove();
+        leiturasNaPrincipal.remove();
+    }
+}
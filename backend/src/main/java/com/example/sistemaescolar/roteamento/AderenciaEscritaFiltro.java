@@ -0,0 +1,68 @@
+package com.example.sistemaescolar.roteamento;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Leva a aderência ao banco principal de uma requisição para as seguintes do mesmo cliente:
+ * toda requisição que pode gravar (POST, PUT, PATCH, DELETE) devolve o cookie {@value #COOKIE},
+ * que expira junto com a janela de aderência; enquanto o cliente o reenviar, suas leituras vão
+ * para o principal. O cookie é definido antes da execução, pois a resposta pode já ter sido
+ * enviada quando a escrita termina.
+ */
+public class AderenciaEscritaFiltro extends OncePerRequestFilter {
+
+    static final String COOKIE = "escrita-recente";
+
+    private static final Set<String> METODOS_DE_ESCRITA = Set.of(HttpMethod.POST.name(), HttpMethod.PUT.name(),
+            HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final AderenciaEscrita aderenciaEscrita;
+
+    public AderenciaEscritaFiltro(AderenciaEscrita aderenciaEscrita) {
+        this.aderenciaEscrita = aderenciaEscrita;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (METODOS_DE_ESCRITA.contains(request.getMethod())) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, "1")
+                    .path("/")
+                    .maxAge(aderenciaEscrita.getJanela())
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        } else if (possuiCookie(request)) {
+            aderenciaEscrita.registrarEscrita();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            aderenciaEscrita.limpar();
+        }
+    }
+
+    private static boolean possuiCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.sistemaescolar.roteamento;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Faz as leituras do método irem sempre ao banco principal, mesmo em transação somente leitura.
+ * Usado nas leituras que alimentam o cache: um valor lido de uma réplica atrasada logo após a
+ * invalidação ficaria no cache até expirar. Também nos endpoints que respondem com ETag: o ETag vem
+ * de {@code VersaoColecoes}, que muda no commit, e o conteúdo antigo da réplica iria com o ETag novo,
+ * ficando no cliente até a próxima alteração.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LeituraNaPrincipal {
+}
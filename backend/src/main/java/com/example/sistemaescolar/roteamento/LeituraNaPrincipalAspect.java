@@ -0,0 +1,28 @@
+package com.example.sistemaescolar.roteamento;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Aplica {@link LeituraNaPrincipal}: marca a thread enquanto o método executa.
+ */
+@Aspect
+public class LeituraNaPrincipalAspect {
+
+    private final AderenciaEscrita aderenciaEscrita;
+
+    public LeituraNaPrincipalAspect(AderenciaEscrita aderenciaEscrita) {
+        this.aderenciaEscrita = aderenciaEscrita;
+    }
+
+    @Around("@annotation(com.example.sistemaescolar.roteamento.LeituraNaPrincipal)")
+    public Object lerNaPrincipal(ProceedingJoinPoint pontoDeJuncao) throws Throwable {
+        aderenciaEscrita.iniciarLeituraNaPrincipal();
+        try {
+            return pontoDeJuncao.proceed();
+        } finally {
+            aderenciaEscrita.encerrarLeituraNaPrincipal();
+        }
+    }
+}
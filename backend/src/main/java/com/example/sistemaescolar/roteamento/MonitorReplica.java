@@ -0,0 +1,77 @@
+package com.example.sistemaescolar.roteamento;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Verifica periodicamente o atraso de replicação da réplica. Enquanto a réplica não responder ou
+ * estiver mais atrasada que o limite, o {@link RoteamentoDataSource} envia as leituras ao principal.
+ * O atraso (em segundos) é publicado na métrica {@value #METRICA}; -1 indica réplica indisponível.
+ */
+public class MonitorReplica {
+
+    static final String METRICA = "replica.atraso";
+
+    // Réplica sem WAL pendente de aplicação não está atrasada, mesmo que o principal esteja ocioso há tempo.
+    // Fora de recuperação (ex: o próprio principal em outra URL, para testes locais) o atraso é zero.
+    static final String CONSULTA_ATRASO = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double atrasoMaximoSegundos;
+
+    // Indisponível até a primeira verificação
+    private volatile boolean disponivel;
+    private volatile double atrasoSegundos = -1;
+
+    public MonitorReplica(DataSource replica, Duration atrasoMaximo, MeterRegistry registry) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.jdbcTemplate.setQueryTimeout(2);
+        this.atrasoMaximoSegundos = atrasoMaximo.toMillis() / 1000.0;
+        Gauge.builder(METRICA, this, monitor -> monitor.atrasoSegundos)
+                .description("Atraso de replicação da réplica de leitura")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    @Scheduled(fixedDelayString = "${replica.intervalo-verificacao-ms:2000}")
+    public void verificar() {
+        boolean estavaDisponivel = disponivel;
+        try {
+            Double atraso = jdbcTemplate.queryForObject(CONSULTA_ATRASO, Double.class);
+            atrasoSegundos = atraso != null ? atraso : 0;
+            disponivel = atrasoSegundos <= atrasoMaximoSegundos;
+            if (estavaDisponivel && !disponivel) {
+                log.warn("Réplica atrasada {} s (limite {} s); leituras enviadas ao banco principal",
+                        atrasoSegundos, atrasoMaximoSegundos);
+            }
+        } catch (RuntimeException e) {
+            atrasoSegundos = -1;
+            disponivel = false;
+            if (estavaDisponivel) {
+                log.warn("Réplica indisponível; leituras enviadas ao banco principal: {}", e.getMessage());
+            }
+        }
+        if (!estavaDisponivel && disponivel) {
+            log.info("Réplica disponível (atraso {} s); leituras somente leitura enviadas à réplica", atrasoSegundos);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.sistemaescolar.roteamento;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envia as transações somente leitura ({@code @Transactional(readOnly = true)}) para a
+ * réplica e todo o resto para o banco principal. A leitura também vai para o principal quando:
+ * <ul>
+ *   <li>a réplica está indisponível ou atrasada além do limite ({@link MonitorReplica});</li>
+ *   <li>o cliente fez uma escrita há pouco tempo, para que leia o que acabou de gravar ({@link AderenciaEscrita});</li>
+ *   <li>o método pediu explicitamente o principal ({@link LeituraNaPrincipal}).</li>
+ * </ul>
+ * Deve ser usado dentro de um {@code LazyConnectionDataSourceProxy}: a transação do JPA obtém a conexão
+ * antes de marcar a transação como somente leitura, e o proxy adia a escolha até o primeiro comando SQL.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRINCIPAL, REPLICA
+    }
+
+    private final MonitorReplica monitorReplica;
+    private final AderenciaEscrita aderenciaEscrita;
+
+    public RoteamentoDataSource(MonitorReplica monitorReplica, AderenciaEscrita aderenciaEscrita) {
+        this.monitorReplica = monitorReplica;
+        this.aderenciaEscrita = aderenciaEscrita;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                aderenciaEscrita.registrarEscrita();
+            }
+            return Destino.PRINCIPAL;
+        }
+        if (aderenciaEscrita.exigePrincipal() || !monitorReplica.isDisponivel()) {
+            return Destino.PRINCIPAL;
+        }
+        return Destino.REPLICA;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.sistemaescolar.service;
 
+import com.example.sistemaescolar.dto.CursoDTO;
+import com.example.sistemaescolar.dto.PaginaDTO;
 import com.example.sistemaescolar.model.Curso;
 
 import java.util.List;
@@ -58,4 +60,37 @@ public interface CursoService {
      * @throws RuntimeException se o curso não for encontrado ou se houver restrições (ex: matrículas existentes).
      */
     void excluir(Long id);
+
+    /**
+     * Lista os cursos em páginas ordenadas por ID, usando paginação por cursor (keyset).
+     *
+     * @param cursor O cursor devolvido pela página anterior, ou null para a primeira página.
+     * @param tamanho A quantidade máxima de itens da página.
+     * @return A página com os itens e o cursor da próxima página (null se não houver).
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    PaginaDTO<Curso> listarPagina(String cursor, int tamanho);
+
+    /**
+     * Conta os cursos cadastrados. Usado apenas quando o cliente solicita o total.
+     *
+     * @return A quantidade total de cursos.
+     */
+    long contarTodos();
+
+    /**
+     * Lista todos os cursos com os contadores de matrículas (matriculados, pagos e receita).
+     * Os contadores são lidos da tabela mantida a cada matrícula, sem percorrer as matrículas.
+     *
+     * @return Uma lista de cursos com os contadores preenchidos (zerados para cursos sem matrículas).
+     */
+    List<CursoDTO> listarComContadores();
+
+    /**
+     * Busca um curso pelo ID com os contadores de matrículas.
+     *
+     * @param id O ID do curso.
+     * @return Um Optional contendo o curso com os contadores, ou vazio se não encontrado.
+     */
+    Optional<CursoDTO> buscarComContadores(Long id);
 }
@@ -1,57 +1,112 @@
 package com.example.sistemaescolar.service;
 
+import com.example.sistemaescolar.CacheConfig;
+import com.example.sistemaescolar.dto.CursoDTO;
+import com.example.sistemaescolar.dto.PaginaDTO;
 import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.repository.ContadoresCursoRepository;
 import com.example.sistemaescolar.repository.CursoRepository;
-import com.example.sistemaescolar.repository.MatriculaRepository;
+import com.example.sistemaescolar.roteamento.LeituraNaPrincipal;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Implementação do serviço de gestão de cursos.
+ * As leituras por ID e a lista de cursos ativos são mantidas em cache e invalidadas
+ * em qualquer alteração do catálogo (salvar, alterarStatus e excluir).
  */
 @Service
 public class CursoServiceImpl implements CursoService {
 
     private final CursoRepository cursoRepository;
-    private final MatriculaRepository matriculaRepository;
+    private final ContadoresCursoRepository contadoresCursoRepository;
+    private final VersaoColecoes versaoColecoes;
 
     // Injeção de dependência via construtor
-    public CursoServiceImpl(CursoRepository cursoRepository, MatriculaRepository matriculaRepository) {
+    public CursoServiceImpl(CursoRepository cursoRepository, ContadoresCursoRepository contadoresCursoRepository,
+                            VersaoColecoes versaoColecoes) {
         this.cursoRepository = cursoRepository;
-        this.matriculaRepository = matriculaRepository;
+        this.contadoresCursoRepository = contadoresCursoRepository;
+        this.versaoColecoes = versaoColecoes;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CURSOS, CacheConfig.CURSOS_ATIVOS}, allEntries = true)
     public Curso salvar(Curso curso) {
         // Aqui poderiam ser feitas validações, como:
         // - Verificar se o nome está preenchido
         // - Verificar se o valor é positivo
         // - etc.
-        
-        return cursoRepository.save(curso);
+
+        // Na atualização, o curso precisa existir: sem esta verificação o save o inseriria como novo.
+        // Clientes que não enviam a versão atualizam sobre a versão atual (sem controle otimista)
+        if (curso.getId() != null) {
+            Curso atual = cursoRepository.findById(curso.getId())
+                    .orElseThrow(() -> new EmptyResultDataAccessException("Curso não encontrado com ID: " + curso.getId(), 1));
+            if (curso.getVersao() == null) {
+                curso.setVersao(atual.getVersao());
+            }
+        }
+
+        Curso cursoSalvo = cursoRepository.save(curso);
+        versaoColecoes.registrarAlteracao(VersaoColecoes.CURSOS);
+        return cursoSalvo;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @LeituraNaPrincipal // Alimenta o cache: não pode vir de uma réplica atrasada
+    @Cacheable(cacheNames = CacheConfig.CURSOS, keyGenerator = CacheConfig.CHAVE_VERSAO_CURSOS, unless = "#result == null")
     public Optional<Curso> buscarPorId(Long id) {
         return cursoRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true) // Somente leitura: pode ser atendida pela réplica
     public List<Curso> listarTodos() {
-        return cursoRepository.findAll();
+        return cursoRepository.findTodosSomenteLeitura();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Curso> listarPagina(String cursor, int tamanho) {
+        Long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanhoPagina = CursorPaginacao.tamanhoValido(tamanho);
+
+        // Busca um registro a mais apenas para saber se existe próxima página
+        List<Curso> registros = cursoRepository.findSomenteLeituraByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.of(0, tamanhoPagina + 1));
+        return CursorPaginacao.montarPagina(registros, tamanhoPagina, Curso::getId, registro -> registro);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarTodos() {
+        return cursoRepository.count();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @LeituraNaPrincipal
+    @Cacheable(cacheNames = CacheConfig.CURSOS_ATIVOS, keyGenerator = CacheConfig.CHAVE_VERSAO_CURSOS)
     public List<Curso> listarAtivos() {
-        return cursoRepository.findByAtivoTrue();
+        return cursoRepository.findSomenteLeituraByAtivoTrue();
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CURSOS, CacheConfig.CURSOS_ATIVOS}, allEntries = true)
     public Curso alterarStatus(Long id, boolean ativo) {
         // Buscar o curso pelo ID
         Curso curso = cursoRepository.findById(id)
@@ -61,23 +116,64 @@ public class CursoServiceImpl implements CursoService {
         curso.setAtivo(ativo);
         
         // Salvar e retornar o curso atualizado
-        return cursoRepository.save(curso);
+        Curso cursoAtualizado = cursoRepository.save(curso);
+        versaoColecoes.registrarAlteracao(VersaoColecoes.CURSOS);
+        return cursoAtualizado;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CURSOS, CacheConfig.CURSOS_ATIVOS}, allEntries = true)
     public void excluir(Long id) {
         // Verificar se o curso existe
         Curso curso = cursoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Curso não encontrado com ID: " + id));
         
-        // Verificar se existem matrículas para este curso
-        boolean temMatriculas = matriculaRepository.existsByCursoId(id);
+        // Verificar se existem matrículas para este curso (leitura do contador pela chave primária)
+        boolean temMatriculas = contadoresCursoRepository.findMatriculados(id).orElse(0L) > 0;
         if (temMatriculas) {
             throw new RuntimeException("Não é possível excluir o curso pois existem matrículas associadas a ele.");
         }
         
         // Se não houver matrículas, exclui o curso
         cursoRepository.deleteById(id);
+        versaoColecoes.registrarAlteracao(VersaoColecoes.CURSOS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CursoDTO> listarComContadores() {
+        Map<Long, Object[]> contadores = new HashMap<>();
+        for (Object[] linha : contadoresCursoRepository.findTodos()) {
+            contadores.put(((Number) linha[0]).longValue(), linha);
+        }
+        return cursoRepository.findTodosSomenteLeitura().stream()
+                .map(curso -> convertToDTO(curso, contadores.get(curso.getId())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CursoDTO> buscarComContadores(Long id) {
+        return cursoRepository.findById(id).map(curso -> {
+            List<Object[]> linhas = contadoresCursoRepository.findContadores(List.of(id));
+            return convertToDTO(curso, linhas.isEmpty() ? null : linhas.get(0));
+        });
+    }
+
+    // contadores: {cursoId, matriculados, pagos, receita}, ou null para curso sem matrículas
+    private static CursoDTO convertToDTO(Curso curso, Object[] contadores) {
+        return new CursoDTO(
+                curso.getId(),
+                curso.getNome(),
+                curso.getDescricao(),
+                curso.getValor(),
+                curso.getCargaHoraria(),
+                curso.isAtivo(),
+                curso.getVagas(),
+                contadores != null ? ((Number) contadores[1]).longValue() : 0L,
+                contadores != null ? ((Number) contadores[2]).longValue() : 0L,
+                contadores != null ? (BigDecimal) contadores[3] : BigDecimal.ZERO
+        );
     }
 }
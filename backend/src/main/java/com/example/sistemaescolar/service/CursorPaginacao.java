@@ -0,0 +1,84 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.dto.PaginaDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Utilitário para paginação por cursor (keyset) sobre o ID das entidades.
+ * O cursor codifica o último ID entregue, de modo que a próxima consulta
+ * usa "WHERE id > :ultimoId ORDER BY id LIMIT :tamanho" e não degrada com o avanço das páginas.
+ */
+final class CursorPaginacao {
+
+    static final int TAMANHO_PADRAO = 50;
+    static final int TAMANHO_MAXIMO = 500;
+
+    private static final String PREFIXO = "id:";
+
+    private CursorPaginacao() {
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @param cursor O cursor opaco, ou null/vazio para a primeira página.
+     * @return O último ID já entregue (0 para a primeira página).
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            return Long.valueOf(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) { // inclui NumberFormatException
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    static String codificar(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Limita o tamanho de página solicitado ao intervalo aceito.
+     */
+    static int tamanhoValido(int tamanho) {
+        if (tamanho <= 0) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(tamanho, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que trouxe até {@code tamanho + 1} registros.
+     * O registro excedente apenas indica que existe uma próxima página e não é devolvido.
+     *
+     * @param registros Registros retornados pela consulta, ordenados por ID.
+     * @param tamanho Tamanho da página solicitada.
+     * @param extrairId Função que obtém o ID de cada registro.
+     * @param converter Conversão do registro para o tipo exposto na página.
+     */
+    static <E, T> PaginaDTO<T> montarPagina(List<E> registros, int tamanho,
+                                            Function<E, Long> extrairId, Function<E, T> converter) {
+        boolean temProxima = registros.size() > tamanho;
+        List<E> pagina = temProxima ? registros.subList(0, tamanho) : registros;
+
+        String proximoCursor = temProxima
+                ? codificar(extrairId.apply(pagina.get(pagina.size() - 1)))
+                : null;
+
+        List<T> itens = pagina.stream().map(converter).collect(Collectors.toList());
+        return new PaginaDTO<>(itens, proximoCursor);
+    }
+}
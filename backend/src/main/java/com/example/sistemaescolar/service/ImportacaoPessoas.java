@@ -0,0 +1,248 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.dto.ImportacaoPessoaResultadoDTO;
+import com.example.sistemaescolar.model.Pessoa;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importação de pessoas a partir de um arquivo CSV ou NDJSON lido como fluxo.
+ * As linhas são acumuladas em blocos; cada bloco é gravado em uma transação própria
+ * (CPFs verificados com uma consulta e inserção em lote) e o resultado de cada linha é
+ * entregue ao consumidor, na ordem do arquivo, assim que o bloco termina.
+ * Apenas o bloco atual e o conjunto de CPFs já vistos no arquivo ficam em memória.
+ */
+@Component
+public class ImportacaoPessoas {
+
+    // Quantidade de linhas gravadas em cada transação
+    static final int TAMANHO_BLOCO = 500;
+
+    // Colunas aceitas no cabeçalho do CSV (mesmos nomes dos campos do JSON)
+    private static final String COLUNA_NOME = "nome";
+    private static final String COLUNA_CPF = "cpf";
+    private static final String COLUNA_DATA_NASCIMENTO = "dataNascimento";
+    private static final String COLUNA_EMAIL = "email";
+    private static final String COLUNA_TELEFONE = "telefone";
+
+    private final PessoaService pessoaService;
+    private final ObjectMapper objectMapper;
+
+    public ImportacaoPessoas(PessoaService pessoaService, ObjectMapper objectMapper) {
+        this.pessoaService = pessoaService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lê o arquivo linha a linha e cadastra as pessoas válidas.
+     *
+     * @param conteudo O conteúdo do arquivo.
+     * @param csv true para CSV com cabeçalho, false para NDJSON (um objeto JSON por linha).
+     * @param relatorio Recebe o resultado de cada linha não vazia, na ordem do arquivo.
+     * @throws IOException se a leitura do arquivo falhar.
+     */
+    public void importar(Reader conteudo, boolean csv, Consumer<ImportacaoPessoaResultadoDTO> relatorio) throws IOException {
+        BufferedReader leitor = new BufferedReader(conteudo);
+        Map<String, Integer> colunas = null;
+        Set<String> cpfsDoArquivo = new HashSet<>();
+        List<LinhaImportacao> bloco = new ArrayList<>(TAMANHO_BLOCO);
+        long numeroLinha = 0;
+
+        String texto;
+        while ((texto = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (texto.isBlank()) {
+                continue;
+            }
+            if (csv && colunas == null) {
+                try {
+                    colunas = lerCabecalho(texto);
+                } catch (IllegalArgumentException e) {
+                    colunas = Map.of();
+                }
+                if (!colunas.containsKey(COLUNA_NOME)) {
+                    relatorio.accept(new ImportacaoPessoaResultadoDTO(numeroLinha, null, null,
+                            "Cabeçalho inválido: a coluna 'nome' é obrigatória."));
+                    return;
+                }
+                continue;
+            }
+
+            LinhaImportacao linha = new LinhaImportacao(numeroLinha);
+            try {
+                linha.pessoa = csv ? lerLinhaCsv(texto, colunas) : lerLinhaJson(texto);
+                linha.erro = validar(linha.pessoa, cpfsDoArquivo);
+            } catch (IllegalArgumentException e) {
+                linha.erro = e.getMessage();
+            }
+            bloco.add(linha);
+            if (bloco.size() == TAMANHO_BLOCO) {
+                gravarBloco(bloco, relatorio);
+            }
+        }
+        gravarBloco(bloco, relatorio);
+    }
+
+    private void gravarBloco(List<LinhaImportacao> bloco, Consumer<ImportacaoPessoaResultadoDTO> relatorio) {
+        List<Pessoa> validas = new ArrayList<>();
+        for (LinhaImportacao linha : bloco) {
+            if (linha.erro == null) {
+                validas.add(linha.pessoa);
+            }
+        }
+
+        List<String> erros;
+        String erroBloco = null;
+        try {
+            erros = validas.isEmpty() ? List.of() : pessoaService.cadastrarEmBloco(validas);
+        } catch (DataAccessException e) {
+            // Ex: CPF cadastrado por outra requisição durante a importação; nada do bloco foi gravado
+            erros = null;
+            erroBloco = "Falha ao gravar o bloco: " + e.getMostSpecificCause().getMessage();
+        }
+
+        int indiceValida = 0;
+        for (LinhaImportacao linha : bloco) {
+            String cpf = linha.pessoa != null ? linha.pessoa.getCpf() : null;
+            if (linha.erro != null) {
+                relatorio.accept(new ImportacaoPessoaResultadoDTO(linha.numero, cpf, null, linha.erro));
+                continue;
+            }
+            String erro = erros != null ? erros.get(indiceValida) : erroBloco;
+            indiceValida++;
+            Long pessoaId = erro == null ? linha.pessoa.getId() : null;
+            relatorio.accept(new ImportacaoPessoaResultadoDTO(linha.numero, cpf, pessoaId, erro));
+        }
+        bloco.clear();
+    }
+
+    // Regras de cadastro que não dependem do banco; CPFs repetidos no próprio arquivo ficam só na primeira linha
+    private static String validar(Pessoa pessoa, Set<String> cpfsDoArquivo) {
+        if (pessoa.getNome() == null || pessoa.getNome().isBlank()) {
+            return "O nome é obrigatório.";
+        }
+        if (pessoa.getNome().length() > 100) {
+            return "O nome excede 100 caracteres.";
+        }
+        if (pessoa.getCpf() != null && pessoa.getCpf().length() > 14) {
+            return "O CPF excede 14 caracteres.";
+        }
+        if (pessoa.getEmail() != null && pessoa.getEmail().length() > 100) {
+            return "O email excede 100 caracteres.";
+        }
+        if (pessoa.getTelefone() != null && pessoa.getTelefone().length() > 20) {
+            return "O telefone excede 20 caracteres.";
+        }
+        if (pessoa.getCpf() != null && !cpfsDoArquivo.add(pessoa.getCpf())) {
+            return "CPF repetido no arquivo: " + pessoa.getCpf();
+        }
+        return null;
+    }
+
+    private Pessoa lerLinhaJson(String texto) {
+        Pessoa pessoa;
+        try {
+            pessoa = objectMapper.readValue(texto, Pessoa.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+        // A importação só cadastra pessoas novas
+        pessoa.setId(null);
+        pessoa.setVersao(null);
+        pessoa.setCpf(vazioComoNulo(pessoa.getCpf()));
+        return pessoa;
+    }
+
+    private static Map<String, Integer> lerCabecalho(String texto) {
+        List<String> nomes = camposCsv(texto.replace("\uFEFF", "")); // Remove o BOM gravado por algumas planilhas
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim(), i);
+        }
+        return colunas;
+    }
+
+    private static Pessoa lerLinhaCsv(String texto, Map<String, Integer> colunas) {
+        List<String> campos = camposCsv(texto);
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(vazioComoNulo(campo(campos, colunas, COLUNA_NOME)));
+        pessoa.setCpf(vazioComoNulo(campo(campos, colunas, COLUNA_CPF)));
+        pessoa.setEmail(vazioComoNulo(campo(campos, colunas, COLUNA_EMAIL)));
+        pessoa.setTelefone(vazioComoNulo(campo(campos, colunas, COLUNA_TELEFONE)));
+        String dataNascimento = vazioComoNulo(campo(campos, colunas, COLUNA_DATA_NASCIMENTO));
+        if (dataNascimento != null) {
+            try {
+                pessoa.setDataNascimento(LocalDate.parse(dataNascimento));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Data de nascimento inválida (use AAAA-MM-DD): " + dataNascimento);
+            }
+        }
+        return pessoa;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        return indice != null && indice < campos.size() ? campos.get(indice) : null;
+    }
+
+    private static String vazioComoNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
+    // Separa uma linha CSV (RFC 4180, campos entre aspas com "" para aspas literais); campos não podem conter quebras de linha
+    static List<String> camposCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Linha CSV com aspas não fechadas.");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private static class LinhaImportacao {
+        private final long numero;
+        private Pessoa pessoa;
+        private String erro;
+
+        private LinhaImportacao(long numero) {
+            this.numero = numero;
+        }
+    }
+}
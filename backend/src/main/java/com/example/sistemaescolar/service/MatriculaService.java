@@ -2,12 +2,20 @@ package com.example.sistemaescolar.service;
 
 import com.example.sistemaescolar.model.Matricula;
 import com.example.sistemaescolar.model.StatusPagamento;
+import com.example.sistemaescolar.dto.AtualizacaoStatusLoteDTO;
 import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.dto.MatriculaLoteItemDTO;
+import com.example.sistemaescolar.dto.MatriculaLoteResultadoDTO;
+import com.example.sistemaescolar.dto.MatriculaStatusItemDTO;
+import com.example.sistemaescolar.dto.MatriculasNormalizadasDTO;
+import com.example.sistemaescolar.dto.PaginaDTO;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface para o serviço de gestão de matrículas.
@@ -27,6 +35,18 @@ public interface MatriculaService {
      */
     Matricula realizarMatricula(Long alunoId, Long cursoId, BigDecimal valorCobrado, LocalDate dataVencimento);
 
+    /**
+     * Realiza várias matrículas de uma só vez (ex: uma turma inteira no início do semestre).
+     * Alunos, cursos e matrículas já existentes são consultados uma única vez para todo o lote,
+     * e as novas matrículas são inseridas juntas. Cada item é validado com as mesmas regras de
+     * realizarMatricula; itens inválidos não impedem a gravação dos demais.
+     *
+     * @param itens Os dados de cada matrícula, na ordem recebida.
+     * @return O resultado de cada item, na mesma ordem: o ID da matrícula criada ou o motivo do erro.
+     * @throws IllegalArgumentException se o lote estiver vazio ou exceder o tamanho máximo.
+     */
+    List<MatriculaLoteResultadoDTO> realizarMatriculasEmLote(List<MatriculaLoteItemDTO> itens);
+
     /**
      * Busca uma matrícula pelo seu ID.
      *
@@ -43,6 +63,77 @@ public interface MatriculaService {
      */
     List<MatriculaDTO> listarMatriculasPorAluno(Long alunoId);
 
+    /**
+     * Lista as matrículas em páginas ordenadas por ID, usando paginação por cursor (keyset).
+     *
+     * @param cursor O cursor devolvido pela página anterior, ou null para a primeira página.
+     * @param tamanho A quantidade máxima de itens da página.
+     * @return A página com os itens e o cursor da próxima página (null se não houver).
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    PaginaDTO<MatriculaDTO> listarPagina(String cursor, int tamanho);
+
+    /**
+     * Campos da visão resumida das listagens: identificação do aluno e do curso e dados de cobrança.
+     */
+    List<String> CAMPOS_RESUMO = List.of("id", "aluno.id", "aluno.nome", "curso.id", "curso.nome",
+            "valorCobrado", "statusPagamento", "dataVencimento");
+
+    /**
+     * Lista as matrículas de um aluno apenas com os campos pedidos, lendo do banco só as colunas correspondentes.
+     *
+     * @param alunoId ID do aluno.
+     * @param campos Os campos de cada matrícula (ex: "statusPagamento", "curso.nome"); o ID sempre é incluído.
+     * @return Uma lista de mapas com a estrutura do MatriculaDTO, restrita aos campos pedidos.
+     * @throws IllegalArgumentException se algum campo não existir.
+     */
+    List<Map<String, Object>> listarMatriculasPorAluno(Long alunoId, List<String> campos);
+
+    /**
+     * Lista as matrículas em páginas (paginação por cursor) apenas com os campos pedidos.
+     *
+     * @param cursor O cursor devolvido pela página anterior, ou null para a primeira página.
+     * @param tamanho A quantidade máxima de itens da página.
+     * @param campos Os campos de cada matrícula; o ID sempre é incluído.
+     * @return A página com os itens restritos aos campos pedidos.
+     * @throws IllegalArgumentException se o cursor for inválido ou algum campo não existir.
+     */
+    PaginaDTO<Map<String, Object>> listarPagina(String cursor, int tamanho, List<String> campos);
+
+    /**
+     * Lista as matrículas de um aluno com o aluno e os cursos enviados uma única vez, referenciados pelo ID.
+     *
+     * @param alunoId ID do aluno.
+     * @return As matrículas, o aluno (se tiver matrículas) e os cursos em que está matriculado.
+     */
+    MatriculasNormalizadasDTO listarMatriculasPorAlunoNormalizadas(Long alunoId);
+
+    /**
+     * Lista as matrículas em páginas (paginação por cursor), com os alunos e cursos da página enviados
+     * uma única vez, referenciados pelo ID.
+     *
+     * @param cursor O cursor devolvido pela página anterior, ou null para a primeira página.
+     * @param tamanho A quantidade máxima de itens da página.
+     * @return A página normalizada, com o cursor da próxima página (null se não houver).
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    MatriculasNormalizadasDTO listarPaginaNormalizada(String cursor, int tamanho);
+
+    /**
+     * Conta as matrículas cadastradas. Usado apenas quando o cliente solicita o total.
+     *
+     * @return A quantidade total de matrículas.
+     */
+    long contarTodos();
+
+    /**
+     * Percorre todas as matrículas (com aluno e curso) entregando cada uma ao consumidor,
+     * sem materializar a lista completa em memória. Usado na exportação para faturamento.
+     *
+     * @param consumidor Recebe cada matrícula convertida em DTO, em ordem de ID.
+     */
+    void exportarMatriculas(Consumer<MatriculaDTO> consumidor);
+
     /**
      * Atualiza o status de pagamento de uma matrícula.
      *
@@ -53,6 +144,30 @@ public interface MatriculaService {
      */
     Matricula atualizarStatusPagamento(Long id, StatusPagamento novoStatus);
 
+    /**
+     * Atualiza o status de pagamento de várias matrículas de uma vez (ex: arquivo de conciliação do banco).
+     * As matrículas não são carregadas: os IDs são agrupados por status de destino e cada grupo é
+     * atualizado com UPDATE ... WHERE id IN (...), em blocos. Se um ID aparecer mais de uma vez,
+     * vale o último status informado. Tudo é gravado em uma única transação.
+     *
+     * @param itens Os pares (ID da matrícula, novo status).
+     * @return A quantidade de matrículas alteradas e os IDs que não existem.
+     * @throws IllegalArgumentException se o lote estiver vazio, exceder o tamanho máximo ou tiver item sem ID ou status.
+     */
+    AtualizacaoStatusLoteDTO atualizarStatusPagamentoEmLote(List<MatriculaStatusItemDTO> itens);
+
+    /**
+     * Marca como ATRASADO as matrículas PENDENTE vencidas antes de hoje, dentro de uma faixa de IDs.
+     * Executa em uma transação própria com um único UPDATE, mantendo os bloqueios curtos.
+     * Usado pela varredura de atrasos, que percorre a tabela em faixas.
+     *
+     * @param hoje A data de referência (no fuso horário da escola).
+     * @param idInicial O primeiro ID da faixa (inclusive).
+     * @param idFinal O último ID da faixa (inclusive).
+     * @return A quantidade de matrículas marcadas como atrasadas.
+     */
+    int marcarAtrasadasNaFaixa(LocalDate hoje, Long idInicial, Long idFinal);
+
     /**
      * Cancela uma matrícula.
      *
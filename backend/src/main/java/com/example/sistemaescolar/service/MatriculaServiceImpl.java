@@ -4,20 +4,47 @@ import com.example.sistemaescolar.model.Curso;
 import com.example.sistemaescolar.model.Matricula;
 import com.example.sistemaescolar.model.Pessoa;
 import com.example.sistemaescolar.model.StatusPagamento;
+import com.example.sistemaescolar.repository.ContadoresCursoRepository;
 import com.example.sistemaescolar.repository.CursoRepository;
 import com.example.sistemaescolar.repository.MatriculaRepository;
 import com.example.sistemaescolar.repository.PessoaRepository;
+import com.example.sistemaescolar.dto.AtualizacaoStatusLoteDTO;
 import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.dto.MatriculaLoteItemDTO;
+import com.example.sistemaescolar.dto.MatriculaLoteResultadoDTO;
+import com.example.sistemaescolar.dto.MatriculaStatusItemDTO;
+import com.example.sistemaescolar.dto.MatriculaReferenciaDTO;
+import com.example.sistemaescolar.dto.MatriculasNormalizadasDTO;
 import com.example.sistemaescolar.dto.PessoaDTO;
 import com.example.sistemaescolar.dto.CursoDTO;
+import com.example.sistemaescolar.dto.PaginaDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementação do serviço de gestão de matrículas.
@@ -28,14 +55,38 @@ public class MatriculaServiceImpl implements MatriculaService {
     private final PessoaRepository pessoaRepository;
     private final CursoRepository cursoRepository;
     private final MatriculaRepository matriculaRepository;
+    private final ContadoresCursoRepository contadoresCursoRepository;
+    private final VersaoColecoes versaoColecoes;
+
+    // Restrição única (pessoa_id, curso_id) criada em db/migration/V3__indices_consultas.sql
+    static final String RESTRICAO_ALUNO_CURSO = "uk_matriculas_pessoa_curso";
+
+    // Quantidade máxima de itens aceitos em uma matrícula em lote
+    static final int TAMANHO_MAXIMO_LOTE = 10_000;
+
+    // Quantidade máxima de itens aceitos em uma atualização de status em lote
+    static final int TAMANHO_MAXIMO_LOTE_STATUS = 100_000;
+
+    // Quantidade máxima de IDs em cada cláusula IN (o PostgreSQL limita os parâmetros por comando)
+    static final int TAMANHO_BLOCO_IDS = 1000;
+
+    // Quantidade de matrículas exportadas entre cada limpeza do contexto de persistência
+    private static final int LOTE_LIMPEZA_EXPORTACAO = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     // Injeção de dependência via construtor (prática recomendada)
     public MatriculaServiceImpl(PessoaRepository pessoaRepository,
                                 CursoRepository cursoRepository,
-                                MatriculaRepository matriculaRepository) {
+                                MatriculaRepository matriculaRepository,
+                                ContadoresCursoRepository contadoresCursoRepository,
+                                VersaoColecoes versaoColecoes) {
         this.pessoaRepository = pessoaRepository;
         this.cursoRepository = cursoRepository;
         this.matriculaRepository = matriculaRepository;
+        this.contadoresCursoRepository = contadoresCursoRepository;
+        this.versaoColecoes = versaoColecoes;
     }
 
     @Override
@@ -45,7 +96,8 @@ public class MatriculaServiceImpl implements MatriculaService {
         Pessoa aluno = pessoaRepository.findById(alunoId)
                 .orElseThrow(() -> new RuntimeException("Aluno não encontrado com ID: " + alunoId)); // Lança exceção se não encontrar
 
-        // 2. Buscar o curso pelo ID
+        // 2. Buscar o curso pelo ID (direto no banco, nunca no cache do catálogo,
+        //    para que um curso recém-inativado não aceite novas matrículas)
         Curso curso = cursoRepository.findById(cursoId)
                 .orElseThrow(() -> new RuntimeException("Curso não encontrado com ID: " + cursoId));
 
@@ -54,36 +106,255 @@ public class MatriculaServiceImpl implements MatriculaService {
             throw new RuntimeException("Não é possível matricular em um curso inativo: " + curso.getNome());
         }
 
+        // 4. Ocupar uma vaga (cursos com limite) ou apenas contar a matrícula (cursos sem limite).
+        //    A reserva é um comando condicional sobre a linha de contadores do curso: com o curso cheio,
+        //    nada é alterado, e a vaga reservada volta com o rollback se a matrícula não for gravada.
+        if (curso.getVagas() != null) {
+            if (contadoresCursoRepository.reservarVagas(cursoId, 1, curso.getVagas()) == 0) {
+                throw new RuntimeException("Não há vagas disponíveis no curso: " + curso.getNome());
+            }
+        } else {
+            contadoresCursoRepository.somar(cursoId, 1, 0, BigDecimal.ZERO);
+        }
+
         // --- Outras validações poderiam ser adicionadas aqui ---
-        // 4. Verificar se o aluno já está matriculado neste curso
-        if (matriculaRepository.existsByAlunoIdAndCursoId(alunoId, cursoId)) {
-            throw new RuntimeException("Aluno já matriculado neste curso.");
+        // 5. Criar a nova matrícula e salvá-la no banco de dados. A duplicidade (aluno já matriculado
+        //    neste curso) é barrada pela restrição única do banco, sem consulta prévia: o flush imediato
+        //    faz a violação aparecer aqui, mesmo quando duas requisições concorrentes chegam juntas.
+        Matricula matriculaSalva;
+        try {
+            matriculaSalva = matriculaRepository.saveAndFlush(novaMatricula(aluno, curso, valorCobrado, dataVencimento));
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacao(e);
         }
+        versaoColecoes.registrarAlteracao(VersaoColecoes.MATRICULAS);
+        return matriculaSalva;
+    }
 
-        // 5. Criar a nova instância de Matricula
-        Matricula novaMatricula = new Matricula();
-        novaMatricula.setAluno(aluno);
-        novaMatricula.setCurso(curso);
-        novaMatricula.setDataMatricula(LocalDate.now()); // Define a data atual como data da matrícula
-        novaMatricula.setValorCobrado(valorCobrado);
-        novaMatricula.setStatusPagamento(StatusPagamento.PENDENTE); // Status inicial
-        novaMatricula.setDataVencimento(dataVencimento);
+    @Override
+    @Transactional
+    public List<MatriculaLoteResultadoDTO> realizarMatriculasEmLote(List<MatriculaLoteItemDTO> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("O lote de matrículas está vazio.");
+        }
+        if (itens.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("O lote excede o máximo de " + TAMANHO_MAXIMO_LOTE + " matrículas.");
+        }
+
+        // 1. Carregar todos os alunos e cursos referenciados com uma consulta para cada tabela
+        Set<Long> alunoIds = new HashSet<>();
+        Set<Long> cursoIds = new HashSet<>();
+        for (MatriculaLoteItemDTO item : itens) {
+            if (item.getAlunoId() != null) {
+                alunoIds.add(item.getAlunoId());
+            }
+            if (item.getCursoId() != null) {
+                cursoIds.add(item.getCursoId());
+            }
+        }
+        Map<Long, Pessoa> alunos = new HashMap<>();
+        pessoaRepository.findAllById(alunoIds).forEach(aluno -> alunos.put(aluno.getId(), aluno));
+        Map<Long, Curso> cursos = new HashMap<>();
+        cursoRepository.findAllById(cursoIds).forEach(curso -> cursos.put(curso.getId(), curso));
+
+        // 2. Verificar as matrículas já existentes com uma única consulta por conjunto
+        Set<String> paresMatriculados = new HashSet<>();
+        if (!alunos.isEmpty() && !cursos.isEmpty()) {
+            for (Object[] par : matriculaRepository.findParesAlunoCurso(alunos.keySet(), cursos.keySet())) {
+                paresMatriculados.add(chavePar((Long) par[0], (Long) par[1]));
+            }
+        }
 
-        // 6. Salvar a matrícula no banco de dados
-        return matriculaRepository.save(novaMatricula);
+        // 3. Validar cada item com as mesmas regras de realizarMatricula
+        List<MatriculaLoteResultadoDTO> resultados = new ArrayList<>(itens.size());
+        List<Matricula> novasMatriculas = new ArrayList<>();
+        List<MatriculaLoteResultadoDTO> resultadosAceitos = new ArrayList<>();
+        for (int i = 0; i < itens.size(); i++) {
+            MatriculaLoteItemDTO item = itens.get(i);
+            MatriculaLoteResultadoDTO resultado = new MatriculaLoteResultadoDTO(i, item.getAlunoId(), item.getCursoId(), null, null);
+            resultados.add(resultado);
+
+            Pessoa aluno = alunos.get(item.getAlunoId());
+            Curso curso = cursos.get(item.getCursoId());
+            if (item.getAlunoId() == null || item.getCursoId() == null
+                    || item.getValorCobrado() == null || item.getDataVencimento() == null) {
+                resultado.setErro("Dados incompletos: alunoId, cursoId, valorCobrado e dataVencimento são obrigatórios.");
+            } else if (aluno == null) {
+                resultado.setErro("Aluno não encontrado com ID: " + item.getAlunoId());
+            } else if (curso == null) {
+                resultado.setErro("Curso não encontrado com ID: " + item.getCursoId());
+            } else if (!curso.isAtivo()) {
+                resultado.setErro("Não é possível matricular em um curso inativo: " + curso.getNome());
+            } else if (!paresMatriculados.add(chavePar(aluno.getId(), curso.getId()))) {
+                // O par já existia no banco ou apareceu antes neste mesmo lote
+                resultado.setErro("Aluno já matriculado neste curso.");
+            } else {
+                novasMatriculas.add(novaMatricula(aluno, curso, item.getValorCobrado(), item.getDataVencimento()));
+                resultadosAceitos.add(resultado);
+            }
+        }
+
+        // 4. Contar as matrículas nos contadores de cada curso, em ordem de ID do curso. Nos cursos com limite
+        //    as vagas são reservadas para todas as matrículas do lote ou para nenhuma, para que o resultado
+        //    não dependa da ordem dos itens
+        Map<Long, Integer> quantidadePorCurso = new TreeMap<>();
+        for (Matricula nova : novasMatriculas) {
+            quantidadePorCurso.merge(nova.getCurso().getId(), 1, Integer::sum);
+        }
+        Set<Long> cursosSemVagas = new HashSet<>();
+        quantidadePorCurso.forEach((cursoId, quantidade) -> {
+            Integer vagas = cursos.get(cursoId).getVagas();
+            if (vagas == null) {
+                contadoresCursoRepository.somar(cursoId, quantidade, 0, BigDecimal.ZERO);
+            } else if (contadoresCursoRepository.reservarVagas(cursoId, quantidade, vagas) == 0) {
+                cursosSemVagas.add(cursoId);
+            }
+        });
+        if (!cursosSemVagas.isEmpty()) {
+            for (int i = novasMatriculas.size() - 1; i >= 0; i--) {
+                Curso curso = novasMatriculas.get(i).getCurso();
+                if (cursosSemVagas.contains(curso.getId())) {
+                    resultadosAceitos.get(i).setErro("Não há vagas suficientes no curso " + curso.getNome()
+                            + " para as " + quantidadePorCurso.get(curso.getId()) + " matrículas do lote.");
+                    novasMatriculas.remove(i);
+                    resultadosAceitos.remove(i);
+                }
+            }
+        }
+
+        // 5. Inserir todas as novas matrículas juntas (agrupadas em lotes JDBC pelo Hibernate).
+        //    Se outra requisição matricular um dos pares depois da verificação, a restrição única rejeita o lote.
+        List<Matricula> salvas;
+        try {
+            salvas = matriculaRepository.saveAllAndFlush(novasMatriculas);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacao(e);
+        }
+        for (int i = 0; i < salvas.size(); i++) {
+            resultadosAceitos.get(i).setMatriculaId(salvas.get(i).getId());
+        }
+        if (!salvas.isEmpty()) {
+            versaoColecoes.registrarAlteracao(VersaoColecoes.MATRICULAS);
+        }
+        return resultados;
     }
 
     @Override
+    @Transactional(readOnly = true) // Somente leitura: pode ser atendida pela réplica
     public Optional<MatriculaDTO> buscarPorId(Long id) {
-        return matriculaRepository.findById(id)
-                .map(this::convertToDTO);
+        return matriculaRepository.findSomenteLeituraComAlunoECursoById(id)
+                .map(MatriculaServiceImpl::convertToDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MatriculaDTO> listarMatriculasPorAluno(Long alunoId) {
-        return matriculaRepository.findByAlunoId(alunoId).stream()
-                .map(this::convertToDTO)
+        return matriculaRepository.findSomenteLeituraByAlunoId(alunoId).stream()
+                .map(MatriculaServiceImpl::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<MatriculaDTO> listarPagina(String cursor, int tamanho) {
+        Long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanhoPagina = CursorPaginacao.tamanhoValido(tamanho);
+
+        // Busca um registro a mais apenas para saber se existe próxima página
+        List<Matricula> registros = matriculaRepository.findSomenteLeituraByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.of(0, tamanhoPagina + 1));
+        return CursorPaginacao.montarPagina(registros, tamanhoPagina, Matricula::getId, MatriculaServiceImpl::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listarMatriculasPorAluno(Long alunoId, List<String> campos) {
+        List<String> selecionados = ProjecaoMatriculas.validar(campos);
+        return entityManager.createQuery(ProjecaoMatriculas.consulta(selecionados, "m.aluno.id = :alunoId"), Tuple.class)
+                .setParameter("alunoId", alunoId)
+                .getResultStream()
+                .map(tupla -> ProjecaoMatriculas.linha(selecionados, tupla.toArray()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Map<String, Object>> listarPagina(String cursor, int tamanho, List<String> campos) {
+        Long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanhoPagina = CursorPaginacao.tamanhoValido(tamanho);
+        List<String> selecionados = ProjecaoMatriculas.validar(campos);
+
+        List<Map<String, Object>> registros = entityManager
+                .createQuery(ProjecaoMatriculas.consulta(selecionados, "m.id > :ultimoId"), Tuple.class)
+                .setParameter("ultimoId", ultimoId)
+                .setMaxResults(tamanhoPagina + 1) // Um a mais apenas para saber se existe próxima página
+                .getResultStream()
+                .map(tupla -> ProjecaoMatriculas.linha(selecionados, tupla.toArray()))
                 .collect(Collectors.toList());
+        return CursorPaginacao.montarPagina(registros, tamanhoPagina, linha -> (Long) linha.get("id"), linha -> linha);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MatriculasNormalizadasDTO listarMatriculasPorAlunoNormalizadas(Long alunoId) {
+        List<MatriculaReferenciaDTO> itens = matriculaRepository.findReferenciasPorAluno(alunoId).stream()
+                .map(MatriculaServiceImpl::convertToReferencia)
+                .collect(Collectors.toList());
+        return normalizar(itens, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MatriculasNormalizadasDTO listarPaginaNormalizada(String cursor, int tamanho) {
+        Long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanhoPagina = CursorPaginacao.tamanhoValido(tamanho);
+
+        List<Object[]> registros = matriculaRepository.findReferenciasApos(ultimoId, PageRequest.of(0, tamanhoPagina + 1));
+        PaginaDTO<MatriculaReferenciaDTO> pagina = CursorPaginacao.montarPagina(registros, tamanhoPagina,
+                registro -> (Long) registro[0], MatriculaServiceImpl::convertToReferencia);
+        return normalizar(pagina.getItens(), pagina.getProximoCursor());
+    }
+
+    // Busca cada aluno e cada curso referenciado uma única vez (uma consulta IN para cada coleção)
+    private MatriculasNormalizadasDTO normalizar(List<MatriculaReferenciaDTO> itens, String proximoCursor) {
+        Set<Long> alunoIds = new TreeSet<>();
+        Set<Long> cursoIds = new TreeSet<>();
+        for (MatriculaReferenciaDTO item : itens) {
+            alunoIds.add(item.getAlunoId());
+            cursoIds.add(item.getCursoId());
+        }
+        List<PessoaDTO> pessoas = alunoIds.isEmpty() ? List.of() : pessoaRepository.findAllById(alunoIds).stream()
+                .map(MatriculaServiceImpl::convertPessoaToDTO)
+                .sorted(Comparator.comparing(PessoaDTO::getId))
+                .collect(Collectors.toList());
+        List<CursoDTO> cursos = cursoIds.isEmpty() ? List.of() : cursoRepository.findAllById(cursoIds).stream()
+                .map(MatriculaServiceImpl::convertCursoToDTO)
+                .sorted(Comparator.comparing(CursoDTO::getId))
+                .collect(Collectors.toList());
+        return new MatriculasNormalizadasDTO(itens, pessoas, cursos, proximoCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarTodos() {
+        return matriculaRepository.count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarMatriculas(Consumer<MatriculaDTO> consumidor) {
+        try (Stream<Matricula> matriculas = matriculaRepository.streamAllComAlunoECurso()) {
+            int processadas = 0;
+            for (Matricula matricula : (Iterable<Matricula>) matriculas::iterator) {
+                consumidor.accept(convertToDTO(matricula));
+
+                // Desanexa cada matrícula já exportada e, periodicamente, libera também
+                // os alunos e cursos, para que o uso de memória não cresça com a tabela
+                entityManager.detach(matricula);
+                if (++processadas % LOTE_LIMPEZA_EXPORTACAO == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     @Override
@@ -91,48 +362,230 @@ public class MatriculaServiceImpl implements MatriculaService {
     public Matricula atualizarStatusPagamento(Long id, StatusPagamento novoStatus) {
         Matricula matricula = matriculaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Matrícula não encontrada com ID: " + id));
+        StatusPagamento statusAnterior = matricula.getStatusPagamento();
         matricula.setStatusPagamento(novoStatus);
-        return matriculaRepository.save(matricula);
+        Matricula matriculaAtualizada = matriculaRepository.save(matricula);
+        // O flush grava a matrícula antes dos contadores, a mesma ordem de bloqueio de todas as operações
+        // sobre matrículas existentes (ver cancelarMatricula). A versão é conferida aqui: se outra requisição
+        // alterou o status antes, a transação falha inteira e os contadores não são ajustados
+        matriculaRepository.flush();
+        Map<Long, VariacaoContadores> variacoes = new TreeMap<>();
+        variacao(variacoes, matricula.getCurso().getId())
+                .trocarStatus(statusAnterior, novoStatus, matricula.getValorCobrado());
+        aplicarVariacoes(variacoes);
+        versaoColecoes.registrarAlteracao(VersaoColecoes.MATRICULAS);
+        return matriculaAtualizada;
+    }
+
+    @Override
+    @Transactional
+    public AtualizacaoStatusLoteDTO atualizarStatusPagamentoEmLote(List<MatriculaStatusItemDTO> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("O lote de atualizações está vazio.");
+        }
+        if (itens.size() > TAMANHO_MAXIMO_LOTE_STATUS) {
+            throw new IllegalArgumentException("O lote excede o máximo de " + TAMANHO_MAXIMO_LOTE_STATUS + " atualizações.");
+        }
+
+        // 1. Consolidar os itens: se um ID aparecer mais de uma vez, vale o último status
+        Map<Long, StatusPagamento> statusPorId = new LinkedHashMap<>();
+        for (MatriculaStatusItemDTO item : itens) {
+            if (item.getId() == null || item.getStatus() == null) {
+                throw new IllegalArgumentException("Dados incompletos: id e status são obrigatórios em todos os itens.");
+            }
+            statusPorId.put(item.getId(), item.getStatus());
+        }
+
+        // 2. Ler (e bloquear) a situação atual das matrículas em blocos, descobrindo quais IDs não existem
+        //    e quanto cada curso ganha ou perde em pagos e receita com as trocas de status
+        List<Long> ids = new ArrayList<>(statusPorId.keySet());
+        Set<Long> existentes = new HashSet<>(ids.size());
+        Map<StatusPagamento, List<Long>> idsPorStatus = new EnumMap<>(StatusPagamento.class);
+        Map<Long, VariacaoContadores> variacoes = new TreeMap<>();
+        for (List<Long> bloco : emBlocos(ids)) {
+            for (Object[] situacao : matriculaRepository.findSituacaoParaAtualizacao(bloco)) {
+                Long id = (Long) situacao[0];
+                StatusPagamento statusAtual = (StatusPagamento) situacao[2];
+                StatusPagamento novoStatus = statusPorId.get(id);
+                existentes.add(id);
+                if (statusAtual != novoStatus) {
+                    idsPorStatus.computeIfAbsent(novoStatus, s -> new ArrayList<>()).add(id);
+                    variacao(variacoes, (Long) situacao[1]).trocarStatus(statusAtual, novoStatus, (BigDecimal) situacao[3]);
+                }
+            }
+        }
+        List<Long> idsNaoEncontrados = new ArrayList<>();
+        for (Long id : ids) {
+            if (!existentes.contains(id)) {
+                idsNaoEncontrados.add(id);
+            }
+        }
+
+        // 3. Um UPDATE por bloco de IDs de cada status de destino
+        int atualizadas = 0;
+        for (Map.Entry<StatusPagamento, List<Long>> grupo : idsPorStatus.entrySet()) {
+            for (List<Long> bloco : emBlocos(grupo.getValue())) {
+                atualizadas += matriculaRepository.atualizarStatusPorIds(grupo.getKey(), bloco);
+            }
+        }
+        aplicarVariacoes(variacoes);
+        if (atualizadas > 0) {
+            versaoColecoes.registrarAlteracao(VersaoColecoes.MATRICULAS);
+        }
+        return new AtualizacaoStatusLoteDTO(itens.size(), atualizadas, idsNaoEncontrados);
+    }
+
+    @Override
+    @Transactional
+    public int marcarAtrasadasNaFaixa(LocalDate hoje, Long idInicial, Long idFinal) {
+        int atualizadas = matriculaRepository.atualizarStatusVencidasNaFaixa(
+                StatusPagamento.PENDENTE, StatusPagamento.ATRASADO, hoje, idInicial, idFinal);
+        if (atualizadas > 0) {
+            versaoColecoes.registrarAlteracao(VersaoColecoes.MATRICULAS);
+        }
+        return atualizadas;
     }
 
     @Override
     @Transactional
     public void cancelarMatricula(Long id) {
-        if (!matriculaRepository.existsById(id)) {
-            throw new RuntimeException("Matrícula não encontrada com ID: " + id);
+        Matricula matricula = matriculaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Matrícula não encontrada com ID: " + id));
+        // Toda operação sobre uma matrícula existente (alteração de status, individual ou em lote, e
+        // cancelamento) bloqueia primeiro a linha da matrícula e depois a dos contadores do curso; com a
+        // mesma ordem nas três, duas delas sobre a mesma matrícula não entram em deadlock. O flush executa
+        // o DELETE (e confere a versão) antes do ajuste dos contadores. A inserção de realizarMatricula
+        // bloqueia os contadores antes, mas a linha nova não pode estar bloqueada por outra transação.
+        matriculaRepository.delete(matricula);
+        matriculaRepository.flush();
+        Map<Long, VariacaoContadores> variacoes = new TreeMap<>();
+        VariacaoContadores variacao = variacao(variacoes, matricula.getCurso().getId());
+        variacao.matriculados--;
+        variacao.trocarStatus(matricula.getStatusPagamento(), null, matricula.getValorCobrado());
+        aplicarVariacoes(variacoes);
+        versaoColecoes.registrarAlteracao(VersaoColecoes.MATRICULAS);
+    }
+
+    /**
+     * Converte a violação da restrição única (aluno, curso) em DuplicateKeyException, tratada pelo
+     * controller como 409 (Conflict). Outras violações de integridade são repassadas sem alteração.
+     */
+    private static DataIntegrityViolationException traduzirViolacao(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao
+                    && RESTRICAO_ALUNO_CURSO.equalsIgnoreCase(violacao.getConstraintName())) {
+                return new DuplicateKeyException("Aluno já matriculado neste curso.", e);
+            }
         }
-        matriculaRepository.deleteById(id);
+        return e;
     }
 
-    private MatriculaDTO convertToDTO(Matricula matricula) {
-        PessoaDTO alunoDTO = new PessoaDTO(
-                matricula.getAluno().getId(),
-                matricula.getAluno().getNome(),
-                matricula.getAluno().getCpf(),
-                matricula.getAluno().getDataNascimento(),
-                matricula.getAluno().getEmail(),
-                matricula.getAluno().getTelefone()
-        );
+    private static VariacaoContadores variacao(Map<Long, VariacaoContadores> variacoes, Long cursoId) {
+        return variacoes.computeIfAbsent(cursoId, id -> new VariacaoContadores());
+    }
 
-        CursoDTO cursoDTO = new CursoDTO(
-                matricula.getCurso().getId(),
-                matricula.getCurso().getNome(),
-                matricula.getCurso().getDescricao(),
-                matricula.getCurso().getValor(),
-                matricula.getCurso().getCargaHoraria(),
-                matricula.getCurso().isAtivo()
-        );
+    // Aplica as variações em ordem de ID do curso (TreeMap), para que transações concorrentes
+    // bloqueiem as linhas de contadores sempre na mesma ordem e não entrem em deadlock
+    private void aplicarVariacoes(Map<Long, VariacaoContadores> variacoes) {
+        variacoes.forEach((cursoId, variacao) -> {
+            if (!variacao.isVazia()) {
+                contadoresCursoRepository.somar(cursoId, variacao.matriculados, variacao.pagos, variacao.receita);
+            }
+        });
+    }
+
+    private static List<List<Long>> emBlocos(List<Long> ids) {
+        List<List<Long>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_IDS) {
+            blocos.add(ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IDS, ids.size())));
+        }
+        return blocos;
+    }
+
+    private Matricula novaMatricula(Pessoa aluno, Curso curso, BigDecimal valorCobrado, LocalDate dataVencimento) {
+        Matricula novaMatricula = new Matricula();
+        novaMatricula.setAluno(aluno);
+        novaMatricula.setCurso(curso);
+        novaMatricula.setDataMatricula(LocalDate.now()); // Define a data atual como data da matrícula
+        novaMatricula.setValorCobrado(valorCobrado);
+        novaMatricula.setStatusPagamento(StatusPagamento.PENDENTE); // Status inicial
+        novaMatricula.setDataVencimento(dataVencimento);
+        return novaMatricula;
+    }
+
+    private static String chavePar(Long alunoId, Long cursoId) {
+        return alunoId + ":" + cursoId;
+    }
 
+    // Visível no pacote para os benchmarks de mapeamento (src/jmh)
+    static MatriculaDTO convertToDTO(Matricula matricula) {
         return new MatriculaDTO(
                 matricula.getId(),
-                alunoDTO,
-                cursoDTO,
+                convertPessoaToDTO(matricula.getAluno()),
+                convertCursoToDTO(matricula.getCurso()),
                 matricula.getDataMatricula(),
                 matricula.getValorCobrado(),
                 matricula.getStatusPagamento(),
                 matricula.getDataVencimento()
         );
     }
-}
 
+    private static PessoaDTO convertPessoaToDTO(Pessoa aluno) {
+        return new PessoaDTO(
+                aluno.getId(),
+                aluno.getNome(),
+                aluno.getCpf(),
+                aluno.getDataNascimento(),
+                aluno.getEmail(),
+                aluno.getTelefone()
+        );
+    }
+
+    private static CursoDTO convertCursoToDTO(Curso curso) {
+        return new CursoDTO(
+                curso.getId(),
+                curso.getNome(),
+                curso.getDescricao(),
+                curso.getValor(),
+                curso.getCargaHoraria(),
+                curso.isAtivo(),
+                curso.getVagas()
+        );
+    }
 
+    // Converte uma linha {id, alunoId, cursoId, dataMatricula, valorCobrado, statusPagamento, dataVencimento}
+    private static MatriculaReferenciaDTO convertToReferencia(Object[] registro) {
+        return new MatriculaReferenciaDTO(
+                (Long) registro[0],
+                (Long) registro[1],
+                (Long) registro[2],
+                (LocalDate) registro[3],
+                (BigDecimal) registro[4],
+                (StatusPagamento) registro[5],
+                (LocalDate) registro[6]
+        );
+    }
+
+    /**
+     * Variação acumulada dos contadores de um curso (tabela cursos_contadores) dentro de uma operação.
+     */
+    private static class VariacaoContadores {
+        private long matriculados;
+        private long pagos;
+        private BigDecimal receita = BigDecimal.ZERO;
+
+        // Uma matrícula que deixa de estar paga sai dos pagos e da receita; a que passa a estar paga entra.
+        // novoStatus null representa a matrícula cancelada.
+        private void trocarStatus(StatusPagamento statusAnterior, StatusPagamento novoStatus, BigDecimal valorCobrado) {
+            int sinal = (novoStatus == StatusPagamento.PAGO ? 1 : 0) - (statusAnterior == StatusPagamento.PAGO ? 1 : 0);
+            if (sinal != 0) {
+                pagos += sinal;
+                receita = receita.add(sinal > 0 ? valorCobrado : valorCobrado.negate());
+            }
+        }
+
+        private boolean isVazia() {
+            return matriculados == 0 && pagos == 0 && receita.signum() == 0;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.sistemaescolar.service;
 
+import com.example.sistemaescolar.dto.PaginaDTO;
 import com.example.sistemaescolar.model.Pessoa;
 
 import java.util.List;
@@ -20,6 +21,16 @@ public interface PessoaService {
      */
     Pessoa salvar(Pessoa pessoa);
 
+    /**
+     * Cadastra um bloco de novas pessoas (usado na importação de arquivos).
+     * Os CPFs já cadastrados são verificados com uma única consulta para o bloco inteiro e
+     * as pessoas aceitas são inseridas juntas, em lotes JDBC.
+     *
+     * @param pessoas As novas pessoas, sem ID. As cadastradas recebem o ID gerado.
+     * @return Para cada pessoa, na mesma ordem: null se foi cadastrada, ou o motivo da rejeição.
+     */
+    List<String> cadastrarEmBloco(List<Pessoa> pessoas);
+
     /**
      * Busca uma pessoa pelo seu ID.
      *
@@ -43,6 +54,16 @@ public interface PessoaService {
      */
     List<Pessoa> listarTodos();
 
+    /**
+     * Busca pessoas pelo nome (ignorando acentos e maiúsculas), pelo início do email ou pelo início do CPF
+     * (com ou sem máscara). A busca é feita no banco, com índices, e retorna apenas os melhores resultados.
+     *
+     * @param termo O texto digitado pelo usuário.
+     * @param limite A quantidade máxima de resultados.
+     * @return As pessoas encontradas, da mais para a menos relevante (vazia se o termo estiver em branco).
+     */
+    List<Pessoa> buscar(String termo, int limite);
+
     /**
      * Exclui uma pessoa pelo seu ID.
      *
@@ -50,4 +71,21 @@ public interface PessoaService {
      * @throws RuntimeException se a pessoa não for encontrada ou se houver restrições (ex: matrículas ativas).
      */
     void excluir(Long id);
+
+    /**
+     * Lista as pessoas em páginas ordenadas por ID, usando paginação por cursor (keyset).
+     *
+     * @param cursor O cursor devolvido pela página anterior, ou null para a primeira página.
+     * @param tamanho A quantidade máxima de itens da página.
+     * @return A página com os itens e o cursor da próxima página (null se não houver).
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    PaginaDTO<Pessoa> listarPagina(String cursor, int tamanho);
+
+    /**
+     * Conta as pessoas cadastradas. Usado apenas quando o cliente solicita o total.
+     *
+     * @return A quantidade total de pessoas.
+     */
+    long contarTodos();
 }
@@ -1,12 +1,21 @@
 package com.example.sistemaescolar.service;
 
+import com.example.sistemaescolar.dto.PaginaDTO;
 import com.example.sistemaescolar.model.Pessoa;
 import com.example.sistemaescolar.repository.PessoaRepository;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementação do serviço de gestão de pessoas.
@@ -14,16 +23,32 @@ import java.util.Optional;
 @Service
 public class PessoaServiceImpl implements PessoaService {
 
+    // Limites da quantidade de resultados da busca
+    static final int LIMITE_BUSCA_PADRAO = 10;
+    static final int LIMITE_BUSCA_MAXIMO = 50;
+
     private final PessoaRepository pessoaRepository;
+    private final VersaoColecoes versaoColecoes;
 
     // Injeção de dependência via construtor
-    public PessoaServiceImpl(PessoaRepository pessoaRepository) {
+    public PessoaServiceImpl(PessoaRepository pessoaRepository, VersaoColecoes versaoColecoes) {
         this.pessoaRepository = pessoaRepository;
+        this.versaoColecoes = versaoColecoes;
     }
 
     @Override
     @Transactional
     public Pessoa salvar(Pessoa pessoa) {
+        // Na atualização, a pessoa precisa existir: sem esta verificação o save a inseriria como nova.
+        // Clientes que não enviam a versão atualizam sobre a versão atual (sem controle otimista)
+        if (pessoa.getId() != null) {
+            Pessoa atual = pessoaRepository.findById(pessoa.getId())
+                    .orElseThrow(() -> new EmptyResultDataAccessException("Pessoa não encontrada com ID: " + pessoa.getId(), 1));
+            if (pessoa.getVersao() == null) {
+                pessoa.setVersao(atual.getVersao());
+            }
+        }
+
         // Verificar se já existe uma pessoa com o mesmo CPF (se o CPF não for nulo)
         if (pessoa.getCpf() != null && !pessoa.getCpf().isEmpty()) {
             Optional<Pessoa> pessoaExistente = pessoaRepository.findByCpf(pessoa.getCpf());
@@ -40,23 +65,105 @@ public class PessoaServiceImpl implements PessoaService {
         // - Validar formato do CPF
         // - Validar formato do email
         // - etc.
-        
-        return pessoaRepository.save(pessoa);
+
+        Pessoa pessoaSalva = pessoaRepository.save(pessoa);
+        versaoColecoes.registrarAlteracao(VersaoColecoes.PESSOAS);
+        return pessoaSalva;
+    }
+
+    @Override
+    @Transactional
+    public List<String> cadastrarEmBloco(List<Pessoa> pessoas) {
+        // 1. Uma consulta para todos os CPFs do bloco
+        Set<String> cpfs = new HashSet<>();
+        for (Pessoa pessoa : pessoas) {
+            if (pessoa.getCpf() != null && !pessoa.getCpf().isEmpty()) {
+                cpfs.add(pessoa.getCpf());
+            }
+        }
+        Set<String> cpfsCadastrados = cpfs.isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(pessoaRepository.findCpfsExistentes(cpfs));
+
+        // 2. Separar as pessoas com CPF já cadastrado e inserir as demais juntas
+        List<String> erros = new ArrayList<>(pessoas.size());
+        List<Pessoa> novas = new ArrayList<>(pessoas.size());
+        for (Pessoa pessoa : pessoas) {
+            if (pessoa.getCpf() != null && cpfsCadastrados.contains(pessoa.getCpf())) {
+                erros.add("Já existe uma pessoa cadastrada com o CPF: " + pessoa.getCpf());
+            } else {
+                erros.add(null);
+                novas.add(pessoa);
+            }
+        }
+        if (!novas.isEmpty()) {
+            pessoaRepository.saveAll(novas);
+            versaoColecoes.registrarAlteracao(VersaoColecoes.PESSOAS);
+        }
+        return erros;
     }
 
     @Override
+    @Transactional(readOnly = true) // Somente leitura: pode ser atendida pela réplica
     public Optional<Pessoa> buscarPorId(Long id) {
         return pessoaRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Pessoa> buscarPorCpf(String cpf) {
         return pessoaRepository.findByCpf(cpf);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pessoa> listarTodos() {
-        return pessoaRepository.findAll();
+        return pessoaRepository.findTodasSomenteLeitura();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Pessoa> buscar(String termo, int limite) {
+        if (termo == null || termo.isBlank()) {
+            return Collections.emptyList();
+        }
+        int limiteValido = limite <= 0 ? LIMITE_BUSCA_PADRAO : Math.min(limite, LIMITE_BUSCA_MAXIMO);
+
+        // Normaliza o termo da mesma forma que os índices: minúsculas, sem acentos e, para o CPF, só dígitos
+        String termoNormalizado = Normalizer.normalize(termo.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        // Curingas digitados pelo usuário devem ser procurados literalmente, não expandidos pelo LIKE
+        termoNormalizado = escaparCuringasLike(termoNormalizado);
+        String digitosCpf = termo.replaceAll("[^0-9]", "");
+
+        return pessoaRepository.findRanqueadasPorTermo(termoNormalizado, digitosCpf, limiteValido);
+    }
+
+    /**
+     * Escapa com {@code \} o próprio caractere de escape e os curingas {@code %} e {@code _} do LIKE.
+     */
+    static String escaparCuringasLike(String termo) {
+        return termo.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<Pessoa> listarPagina(String cursor, int tamanho) {
+        Long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanhoPagina = CursorPaginacao.tamanhoValido(tamanho);
+
+        // Busca um registro a mais apenas para saber se existe próxima página
+        List<Pessoa> registros = pessoaRepository.findSomenteLeituraByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.of(0, tamanhoPagina + 1));
+        return CursorPaginacao.montarPagina(registros, tamanhoPagina, Pessoa::getId, registro -> registro);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarTodos() {
+        return pessoaRepository.count();
     }
 
     @Override
@@ -72,5 +179,6 @@ public class PessoaServiceImpl implements PessoaService {
         
         // Se tudo estiver ok, exclui a pessoa
         pessoaRepository.deleteById(id);
+        versaoColecoes.registrarAlteracao(VersaoColecoes.PESSOAS);
     }
 }
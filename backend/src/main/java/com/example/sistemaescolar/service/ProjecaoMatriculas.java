@@ -0,0 +1,121 @@
+package com.example.sistemaescolar.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Monta a consulta JPQL das listagens de matrículas com campos escolhidos pelo cliente (parâmetro
+ * {@code campos}), selecionando apenas as colunas pedidas: o aluno e o curso só entram no JOIN quando
+ * algum campo deles além do ID é pedido, e a descrição do curso só é lida se for solicitada.
+ * Cada linha é devolvida como um mapa com a mesma estrutura do MatriculaDTO (ex: {"aluno": {"nome": ...}}).
+ */
+final class ProjecaoMatriculas {
+
+    // Campo exposto -> expressão JPQL. Os IDs do aluno e do curso vêm das chaves estrangeiras, sem JOIN
+    private static final Map<String, String> EXPRESSOES = new LinkedHashMap<>();
+
+    static {
+        EXPRESSOES.put("id", "m.id");
+        EXPRESSOES.put("dataMatricula", "m.dataMatricula");
+        EXPRESSOES.put("valorCobrado", "m.valorCobrado");
+        EXPRESSOES.put("statusPagamento", "m.statusPagamento");
+        EXPRESSOES.put("dataVencimento", "m.dataVencimento");
+        EXPRESSOES.put("aluno.id", "m.aluno.id");
+        EXPRESSOES.put("aluno.nome", "a.nome");
+        EXPRESSOES.put("aluno.cpf", "a.cpf");
+        EXPRESSOES.put("aluno.dataNascimento", "a.dataNascimento");
+        EXPRESSOES.put("aluno.email", "a.email");
+        EXPRESSOES.put("aluno.telefone", "a.telefone");
+        EXPRESSOES.put("curso.id", "m.curso.id");
+        EXPRESSOES.put("curso.nome", "c.nome");
+        EXPRESSOES.put("curso.descricao", "c.descricao");
+        EXPRESSOES.put("curso.valor", "c.valor");
+        EXPRESSOES.put("curso.cargaHoraria", "c.cargaHoraria");
+        EXPRESSOES.put("curso.ativo", "c.ativo");
+        EXPRESSOES.put("curso.vagas", "c.vagas");
+    }
+
+    private ProjecaoMatriculas() {
+    }
+
+    /**
+     * Valida os campos pedidos, na ordem recebida e sem repetições. O ID da matrícula é sempre incluído,
+     * pois identifica o item e é a base do cursor de paginação. "aluno" e "curso" equivalem a todos os
+     * campos do aluno e do curso.
+     *
+     * @param campos Os nomes dos campos (ex: "statusPagamento", "aluno.nome").
+     * @return Os campos a selecionar, começando pelo ID.
+     * @throws IllegalArgumentException se algum campo não existir.
+     */
+    static List<String> validar(List<String> campos) {
+        Set<String> validos = new LinkedHashSet<>();
+        validos.add("id");
+        for (String campo : campos) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (nome.equals("aluno") || nome.equals("curso")) {
+                EXPRESSOES.keySet().stream().filter(c -> c.startsWith(nome + ".")).forEach(validos::add);
+            } else if (EXPRESSOES.containsKey(nome)) {
+                validos.add(nome);
+            } else {
+                throw new IllegalArgumentException("Campo desconhecido: " + nome + ". Campos aceitos: "
+                        + String.join(", ", EXPRESSOES.keySet()));
+            }
+        }
+        return new ArrayList<>(validos);
+    }
+
+    /**
+     * Monta a consulta com os campos já validados, em ordem de ID.
+     *
+     * @param campos Os campos devolvidos por {@link #validar(List)}.
+     * @param condicao A condição do WHERE sobre a matrícula "m" (ex: "m.id > :ultimoId").
+     */
+    static String consulta(List<String> campos, String condicao) {
+        StringBuilder jpql = new StringBuilder("select ");
+        boolean juntarAluno = false;
+        boolean juntarCurso = false;
+        for (int i = 0; i < campos.size(); i++) {
+            String expressao = EXPRESSOES.get(campos.get(i));
+            juntarAluno |= expressao.startsWith("a.");
+            juntarCurso |= expressao.startsWith("c.");
+            jpql.append(i == 0 ? "" : ", ").append(expressao);
+        }
+        jpql.append(" from Matricula m");
+        if (juntarAluno) {
+            jpql.append(" join m.aluno a");
+        }
+        if (juntarCurso) {
+            jpql.append(" join m.curso c");
+        }
+        return jpql.append(" where ").append(condicao).append(" order by m.id").toString();
+    }
+
+    /**
+     * Converte uma linha do resultado em um mapa, agrupando os campos do aluno e do curso.
+     *
+     * @param campos Os campos selecionados, na ordem da consulta.
+     * @param valores Os valores da linha, na mesma ordem.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> linha(List<String> campos, Object[] valores) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        for (int i = 0; i < campos.size(); i++) {
+            String campo = campos.get(i);
+            int ponto = campo.indexOf('.');
+            if (ponto < 0) {
+                linha.put(campo, valores[i]);
+            } else {
+                ((Map<String, Object>) linha.computeIfAbsent(campo.substring(0, ponto), c -> new LinkedHashMap<>()))
+                        .put(campo.substring(ponto + 1), valores[i]);
+            }
+        }
+        return linha;
+    }
+}
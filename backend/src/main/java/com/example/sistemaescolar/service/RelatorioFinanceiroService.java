@@ -0,0 +1,24 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.dto.RelatorioFinanceiroDTO;
+
+/**
+ * Interface para o serviço de relatórios financeiros das matrículas.
+ */
+public interface RelatorioFinanceiroService {
+
+    /**
+     * Gera o relatório financeiro a partir do resumo pré-agregado no banco.
+     * Os valores refletem a última atualização do resumo (campo atualizadoEm).
+     *
+     * @return Os totais por status de pagamento, por curso e por mês de vencimento.
+     */
+    RelatorioFinanceiroDTO gerarRelatorioFinanceiro();
+
+    /**
+     * Recalcula o resumo financeiro no banco, se as matrículas ou os cursos mudaram desde a última atualização.
+     *
+     * @return true se o resumo foi recalculado.
+     */
+    boolean atualizarResumo();
+}
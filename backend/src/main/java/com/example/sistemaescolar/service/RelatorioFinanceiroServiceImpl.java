@@ -0,0 +1,85 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.dto.RelatorioFinanceiroDTO;
+import com.example.sistemaescolar.dto.TotalFinanceiroDTO;
+import com.example.sistemaescolar.repository.ResumoFinanceiroRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação do serviço de relatórios financeiros.
+ * Os totais são lidos da materialized view resumo_financeiro, que é recalculada periodicamente
+ * (e só quando houve alterações), em vez de percorrer todas as matrículas a cada requisição.
+ */
+@Service
+public class RelatorioFinanceiroServiceImpl implements RelatorioFinanceiroService {
+
+    private final ResumoFinanceiroRepository resumoFinanceiroRepository;
+
+    // Contador de alterações do banco usado na última atualização do resumo e o momento em que ela terminou
+    private volatile Long alteracoesResumidas;
+    private volatile Instant atualizadoEm;
+
+    public RelatorioFinanceiroServiceImpl(ResumoFinanceiroRepository resumoFinanceiroRepository) {
+        this.resumoFinanceiroRepository = resumoFinanceiroRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RelatorioFinanceiroDTO gerarRelatorioFinanceiro() {
+        List<TotalFinanceiroDTO> porStatus = resumoFinanceiroRepository.somarPorStatus().stream()
+                .map(linha -> new TotalFinanceiroDTO((String) linha[0], null, quantidade(linha[1]), valor(linha[2])))
+                .collect(Collectors.toList());
+        List<TotalFinanceiroDTO> porCurso = resumoFinanceiroRepository.somarPorCurso().stream()
+                .map(linha -> new TotalFinanceiroDTO(String.valueOf(linha[0]), (String) linha[1], quantidade(linha[2]), valor(linha[3])))
+                .collect(Collectors.toList());
+        List<TotalFinanceiroDTO> porMes = resumoFinanceiroRepository.somarPorMesVencimento().stream()
+                .map(linha -> new TotalFinanceiroDTO(mes(linha[0]), null, quantidade(linha[1]), valor(linha[2])))
+                .collect(Collectors.toList());
+        return new RelatorioFinanceiroDTO(atualizadoEm, porStatus, porCurso, porMes);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${relatorios.financeiro.intervalo-atualizacao-ms:300000}")
+    public boolean atualizarResumo() {
+        // O contador vem do banco, e não das versões em memória desta instância: alterações feitas por
+        // outras instâncias também contam. Ele é lido antes do REFRESH, então alterações feitas durante a
+        // atualização (ou ainda não publicadas nas estatísticas) disparam a próxima
+        long alteracoes = resumoFinanceiroRepository.contarAlteracoes();
+        if (Objects.equals(alteracoes, alteracoesResumidas)) {
+            return false;
+        }
+        resumoFinanceiroRepository.atualizarResumo();
+        alteracoesResumidas = alteracoes;
+        atualizadoEm = Instant.now();
+        return true;
+    }
+
+    private static long quantidade(Object valor) {
+        return valor != null ? ((Number) valor).longValue() : 0L;
+    }
+
+    private static BigDecimal valor(Object valor) {
+        return valor != null ? (BigDecimal) valor : BigDecimal.ZERO;
+    }
+
+    // O driver pode devolver a coluna DATE como java.sql.Date ou LocalDate, conforme a versão do Hibernate
+    private static String mes(Object valor) {
+        if (valor == null) {
+            return null;
+        }
+        LocalDate data = valor instanceof Date dataSql ? dataSql.toLocalDate() : (LocalDate) valor;
+        return YearMonth.from(data).toString();
+    }
+}
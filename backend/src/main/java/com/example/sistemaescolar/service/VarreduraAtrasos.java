@@ -0,0 +1,80 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.dto.VarreduraAtrasosDTO;
+import com.example.sistemaescolar.model.StatusPagamento;
+import com.example.sistemaescolar.repository.MatriculaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Tarefa agendada que marca como ATRASADO as matrículas PENDENTE com vencimento anterior a hoje.
+ * A tabela é percorrida em faixas de IDs, cada uma atualizada com um único UPDATE em sua própria
+ * transação, para que nenhuma execução mantenha muitas linhas bloqueadas ao mesmo tempo.
+ * Executar de novo no mesmo dia não altera nada (só matrículas ainda PENDENTE são atualizadas).
+ */
+@Component
+public class VarreduraAtrasos {
+
+    private static final Logger log = LoggerFactory.getLogger(VarreduraAtrasos.class);
+
+    // Quantidade de IDs coberta por cada UPDATE
+    static final long TAMANHO_FAIXA = 5_000;
+
+    private final MatriculaRepository matriculaRepository;
+    private final MatriculaService matriculaService;
+    private final ZoneId zona;
+
+    public VarreduraAtrasos(MatriculaRepository matriculaRepository,
+                            MatriculaService matriculaService,
+                            @Value("${matriculas.atraso.zona:America/Sao_Paulo}") String zona) {
+        this.matriculaRepository = matriculaRepository;
+        this.matriculaService = matriculaService;
+        this.zona = ZoneId.of(zona);
+    }
+
+    /**
+     * Executa a varredura no horário configurado. "Hoje" é a data no fuso horário da escola,
+     * não a do servidor, para que um vencimento não vire atraso algumas horas antes (ou depois).
+     */
+    @Scheduled(cron = "${matriculas.atraso.cron:0 5 0 * * *}", zone = "${matriculas.atraso.zona:America/Sao_Paulo}")
+    public void varrerAgendado() {
+        executar(LocalDate.now(zona));
+    }
+
+    /**
+     * Marca como atrasadas as matrículas pendentes com vencimento anterior à data informada.
+     *
+     * @param hoje A data de referência.
+     * @return A quantidade de matrículas alteradas, de faixas processadas e a duração da execução.
+     */
+    public VarreduraAtrasosDTO executar(LocalDate hoje) {
+        long inicio = System.nanoTime();
+        int atualizadas = 0;
+        int faixas = 0;
+
+        // A faixa vem do índice parcial de pendentes por vencimento; se vazia, nada a fazer
+        List<Object[]> faixa = matriculaRepository.findFaixaIdsPorStatusEVencimentoAntes(StatusPagamento.PENDENTE, hoje);
+        Object[] limites = faixa.isEmpty() ? null : faixa.get(0);
+        if (limites != null && limites[0] != null) {
+            long menorId = (Long) limites[0];
+            long maiorId = (Long) limites[1];
+            for (long idInicial = menorId; idInicial <= maiorId; idInicial += TAMANHO_FAIXA) {
+                long idFinal = Math.min(idInicial + TAMANHO_FAIXA - 1, maiorId);
+                atualizadas += matriculaService.marcarAtrasadasNaFaixa(hoje, idInicial, idFinal);
+                faixas++;
+            }
+        }
+
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Varredura de atrasos ({}): {} matrículas marcadas como ATRASADO em {} faixas, {} ms",
+                hoje, atualizadas, faixas, duracaoMs);
+        return new VarreduraAtrasosDTO(hoje, atualizadas, faixas, duracaoMs);
+    }
+}
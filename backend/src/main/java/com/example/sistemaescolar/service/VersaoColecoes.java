@@ -0,0 +1,74 @@
+package com.example.sistemaescolar.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de alteração por coleção (pessoas, cursos, matrículas), usados para gerar ETags.
+ * Os serviços registram cada alteração; os controllers comparam a ETag com o If-None-Match
+ * e respondem 304 (Not Modified) sem consultar o banco quando nada mudou.
+ *
+ * Os contadores ficam em memória, portanto pressupõem uma única instância do backend.
+ */
+@Component
+public class VersaoColecoes {
+
+    public static final String PESSOAS = "pessoas";
+    public static final String CURSOS = "cursos";
+    public static final String MATRICULAS = "matriculas";
+
+    // Distingue as ETags emitidas antes de um reinício da aplicação, quando os contadores voltam a zero
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<String, AtomicLong> contadores = Map.of(
+            PESSOAS, new AtomicLong(),
+            CURSOS, new AtomicLong(),
+            MATRICULAS, new AtomicLong());
+
+    /**
+     * Registra uma alteração na coleção. Dentro de uma transação, o contador só é incrementado
+     * após o commit, para que uma leitura concorrente nunca associe a nova ETag aos dados antigos.
+     *
+     * @param colecao Uma das constantes PESSOAS, CURSOS ou MATRICULAS.
+     */
+    public void registrarAlteracao(String colecao) {
+        AtomicLong contador = contadores.get(colecao);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contador.incrementAndGet();
+                }
+            });
+        } else {
+            contador.incrementAndGet();
+        }
+    }
+
+    /**
+     * Devolve o contador atual de alterações da coleção nesta instância.
+     *
+     * @param colecao Uma das constantes PESSOAS, CURSOS ou MATRICULAS.
+     */
+    public long versao(String colecao) {
+        return contadores.get(colecao).get();
+    }
+
+    /**
+     * Monta a ETag que representa o estado atual das coleções informadas.
+     *
+     * @param colecoes As coleções das quais a resposta depende (ex: matrículas dependem também de pessoas e cursos).
+     * @return O valor da ETag, sem aspas.
+     */
+    public String etag(String... colecoes) {
+        StringBuilder etag = new StringBuilder(instancia);
+        for (String colecao : colecoes) {
+            etag.append('-').append(contadores.get(colecao).get());
+        }
+        return etag.toString();
+    }
+}
@@ -0,0 +1,51 @@
+-- Esquema inicial de pessoas, cursos e matrículas (antes criado pelo ddl-auto=update).
+-- Bancos já existentes recebem apenas o que falta: por isso os comandos usam IF NOT EXISTS
+-- e o Flyway é configurado com baseline-version=0, para que esta migração também rode neles.
+
+CREATE SEQUENCE IF NOT EXISTS pessoas_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cursos_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS matriculas_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS pessoas (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    nome            VARCHAR(100) NOT NULL,
+    cpf             VARCHAR(14)  CONSTRAINT uk_pessoas_cpf UNIQUE,
+    data_nascimento DATE,
+    email           VARCHAR(100),
+    telefone        VARCHAR(20),
+    versao          BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS cursos (
+    id            BIGINT         NOT NULL PRIMARY KEY,
+    nome          VARCHAR(150)   NOT NULL,
+    descricao     VARCHAR(500),
+    valor         NUMERIC(10, 2) NOT NULL,
+    carga_horaria INTEGER,
+    ativo         BOOLEAN        NOT NULL DEFAULT TRUE,
+    versao        BIGINT         NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS matriculas (
+    id               BIGINT         NOT NULL PRIMARY KEY,
+    pessoa_id        BIGINT         NOT NULL CONSTRAINT fk_matriculas_pessoa REFERENCES pessoas (id),
+    curso_id         BIGINT         NOT NULL CONSTRAINT fk_matriculas_curso REFERENCES cursos (id),
+    data_matricula   DATE           NOT NULL,
+    valor_cobrado    NUMERIC(10, 2) NOT NULL,
+    status_pagamento VARCHAR(20)    NOT NULL
+        CONSTRAINT ck_matriculas_status_pagamento CHECK (status_pagamento IN ('PENDENTE', 'PAGO', 'ATRASADO')),
+    data_vencimento  DATE,
+    versao           BIGINT         NOT NULL DEFAULT 0
+);
+
+-- Tabelas criadas pelo ddl-auto antes do controle de concorrência otimista não têm a coluna de versão
+ALTER TABLE pessoas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE cursos ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE matriculas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+-- O otimizador "pooled" do Hibernate usa o valor retornado pela sequence como o limite
+-- superior do bloco (valor - 49 .. valor). Posicionando a sequence no maior ID atual,
+-- o próximo nextval devolve MAX(id) + 50 e o primeiro ID gerado será MAX(id) + 1.
+SELECT setval('pessoas_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM pessoas), 1));
+SELECT setval('cursos_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM cursos), 1));
+SELECT setval('matriculas_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM matriculas), 1));
@@ -0,0 +1,23 @@
+-- Índices da busca de pessoas por nome, email e CPF (GET /api/pessoas/busca).
+-- Requer as extensões pg_trgm e unaccent (incluídas no pacote postgresql-contrib).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() não é IMMUTABLE e por isso não pode ser usada em índices;
+-- este wrapper fixa o dicionário e permite indexar o nome sem acentos.
+CREATE OR REPLACE FUNCTION f_unaccent(texto text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, texto) $$;
+
+-- Nome sem acentos e em minúsculas: trigramas para busca por trecho e por similaridade
+CREATE INDEX IF NOT EXISTS pessoas_nome_trgm_idx
+    ON pessoas USING gin (f_unaccent(lower(nome)) gin_trgm_ops);
+
+-- Email em minúsculas: trigramas para busca por prefixo
+CREATE INDEX IF NOT EXISTS pessoas_email_trgm_idx
+    ON pessoas USING gin (lower(email) gin_trgm_ops);
+
+-- CPF só com dígitos: busca por prefixo, independente da máscara usada no cadastro
+CREATE INDEX IF NOT EXISTS pessoas_cpf_digitos_idx
+    ON pessoas (regexp_replace(cpf, '[^0-9]', '', 'g') text_pattern_ops);
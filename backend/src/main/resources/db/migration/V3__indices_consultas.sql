@@ -0,0 +1,22 @@
+-- Índices alinhados aos métodos dos repositórios. Cada índice indica as consultas que atende.
+-- A restrição única de matrícula falha se o banco já tiver o mesmo aluno matriculado duas vezes
+-- no mesmo curso; nesse caso remova as duplicatas antes de subir esta versão.
+
+-- existsByAlunoIdAndCursoId, findParesAlunoCurso e findByAlunoId (pessoa_id é a primeira coluna).
+-- Também impede matrículas duplicadas mesmo sob requisições concorrentes.
+ALTER TABLE matriculas
+    ADD CONSTRAINT uk_matriculas_pessoa_curso UNIQUE (pessoa_id, curso_id);
+
+-- findByCursoId e existsByCursoId (exclusão de curso)
+CREATE INDEX IF NOT EXISTS idx_matriculas_curso ON matriculas (curso_id);
+
+-- findByStatusPagamento (prefixo) e findByDataVencimentoBeforeAndStatusPagamento (igualdade + intervalo)
+CREATE INDEX IF NOT EXISTS idx_matriculas_status_vencimento ON matriculas (status_pagamento, data_vencimento);
+
+-- Pagamentos pendentes por vencimento: a maioria das matrículas fica PAGO, então o índice parcial
+-- é bem menor que o composto e atende a varredura de vencidos
+CREATE INDEX IF NOT EXISTS idx_matriculas_pendentes_vencimento ON matriculas (data_vencimento)
+    WHERE status_pagamento = 'PENDENTE';
+
+-- findByAtivoTrue (catálogo de cursos ativos)
+CREATE INDEX IF NOT EXISTS idx_cursos_ativos ON cursos (id) WHERE ativo;
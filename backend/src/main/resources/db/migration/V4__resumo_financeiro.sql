@@ -0,0 +1,17 @@
+-- Resumo financeiro das matrículas (GET /api/relatorios/financeiro).
+-- A view agrupa as matrículas por curso, status e mês de vencimento; o relatório soma apenas estas
+-- linhas (cursos x status x meses), então o tempo de resposta não depende do total de matrículas.
+-- É atualizada periodicamente pelo backend com REFRESH MATERIALIZED VIEW CONCURRENTLY,
+-- que exige o índice único abaixo e não bloqueia as leituras durante a atualização.
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS resumo_financeiro AS
+SELECT curso_id,
+       status_pagamento,
+       CAST(date_trunc('month', data_vencimento) AS DATE) AS mes_vencimento,
+       COUNT(*)                                          AS quantidade,
+       SUM(valor_cobrado)                                AS valor_total
+FROM matriculas
+GROUP BY curso_id, status_pagamento, CAST(date_trunc('month', data_vencimento) AS DATE);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_resumo_financeiro
+    ON resumo_financeiro (curso_id, status_pagamento, mes_vencimento);
@@ -0,0 +1,22 @@
+-- Contadores de matrículas por curso: matriculados, pagos e receita (soma do valor cobrado das pagas).
+-- Mantidos pelo backend na mesma transação de cada matrícula, cancelamento e alteração de status,
+-- para que a exclusão de cursos, as estatísticas por curso e limites de vagas sejam uma leitura
+-- pela chave primária, sem percorrer a tabela de matrículas.
+-- Um curso sem matrículas pode não ter linha aqui (equivale a contadores zerados).
+
+CREATE TABLE IF NOT EXISTS cursos_contadores (
+    curso_id     BIGINT         PRIMARY KEY CONSTRAINT fk_cursos_contadores_curso REFERENCES cursos (id) ON DELETE CASCADE,
+    matriculados BIGINT         NOT NULL DEFAULT 0,
+    pagos        BIGINT         NOT NULL DEFAULT 0,
+    receita      NUMERIC(12, 2) NOT NULL DEFAULT 0
+);
+
+-- Carga inicial a partir das matrículas existentes
+INSERT INTO cursos_contadores (curso_id, matriculados, pagos, receita)
+SELECT curso_id,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE status_pagamento = 'PAGO'),
+       COALESCE(SUM(valor_cobrado) FILTER (WHERE status_pagamento = 'PAGO'), 0)
+FROM matriculas
+GROUP BY curso_id
+ON CONFLICT (curso_id) DO NOTHING;
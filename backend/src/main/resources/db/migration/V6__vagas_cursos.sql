@@ -0,0 +1,5 @@
+-- Limite opcional de vagas por curso (null = sem limite).
+-- As vagas ocupadas são o contador de matriculados em cursos_contadores (V5): a matrícula reserva a
+-- vaga com um único comando condicional sobre a linha de contadores do curso, sem bloquear o curso.
+
+ALTER TABLE cursos ADD COLUMN IF NOT EXISTS vagas INTEGER CONSTRAINT ck_cursos_vagas CHECK (vagas >= 0);
@@ -0,0 +1,134 @@
+package com.example.sistemaescolar.carga;
+
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.service.PessoaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede o cadastro de pessoas em massa: {@value #PESSOAS} pessoas por {@code PessoaService.cadastrarEmBloco}
+ * (uma transação, como a importação) e pelo {@code PessoaService.salvar} (uma transação por pessoa, como o
+ * POST /api/pessoas). O relatório traz a vazão (pessoas por segundo) e os comandos SQL preparados pelo
+ * Hibernate, como medianas das repetições. As subclasses sobem o backend com e sem o envio dos INSERTs
+ * em lotes; sem lotes, cada pessoa é um INSERT e uma ida ao banco, como antes da troca de IDENTITY
+ * pelas sequences com alocação em blocos.
+ * <p>
+ * Exige Docker e só é executado com {@code mvn test -Dtestes.carga=true -Dtest='CadastroPessoas*'}.
+ * A quantidade de repetições pode ser alterada com {@code -Dcarga.repeticoes=5}.
+ */
+abstract class CadastroPessoasCarga {
+
+    static final int PESSOAS = 1_000;
+    private static final int REPETICOES = Integer.getInteger("carga.repeticoes", 5);
+    private static final int AQUECIMENTO = 2;
+
+    // Um único banco para os dois modos (iniciado uma vez, removido pelo Testcontainers ao fim da JVM)
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // CPFs únicos entre todas as repetições e os dois modos
+    private static final AtomicLong PROXIMO_CPF = new AtomicLong(90_000_000_000L);
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void configurarBanco(DynamicPropertyRegistry registro) {
+        registro.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registro.add("spring.datasource.username", POSTGRES::getUsername);
+        registro.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Nome do modo testado, usado no título do relatório.
+     */
+    protected abstract String modo();
+
+    @Test
+    void cadastroDePessoasEmMassa() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+
+        Consumer<List<Pessoa>> emBloco = pessoas -> pessoaService.cadastrarEmBloco(pessoas);
+        Consumer<List<Pessoa>> umaAUma = pessoas -> pessoas.forEach(pessoaService::salvar);
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            medir(estatisticas, emBloco);
+            medir(estatisticas, umaAUma);
+        }
+        long[][] bloco = new long[REPETICOES][];
+        long[][] individual = new long[REPETICOES][];
+        for (int i = 0; i < REPETICOES; i++) {
+            bloco[i] = medir(estatisticas, emBloco);
+            individual[i] = medir(estatisticas, umaAUma);
+        }
+
+        System.out.printf("%n== Cadastro de %d pessoas, %s (medianas de %d repetições) ==%n", PESSOAS, modo(), REPETICOES);
+        System.out.printf("%-36s %12s %14s %10s%n", "operação", "tempo (ms)", "pessoas/s", "comandos");
+        imprimir("PessoaService.cadastrarEmBloco", medianas(bloco));
+        imprimir("PessoaService.salvar (uma a uma)", medianas(individual));
+    }
+
+    /**
+     * Cadastra {@value #PESSOAS} pessoas novas e devolve {duração em ns, comandos SQL preparados}.
+     */
+    private long[] medir(Statistics estatisticas, Consumer<List<Pessoa>> cadastro) {
+        List<Pessoa> pessoas = novasPessoas();
+        estatisticas.clear();
+        long inicio = System.nanoTime();
+        cadastro.accept(pessoas);
+        long duracao = System.nanoTime() - inicio;
+        long comandos = estatisticas.getPrepareStatementCount();
+        assertEquals(PESSOAS, pessoas.stream().filter(pessoa -> pessoa.getId() != null).count());
+        return new long[]{duracao, comandos};
+    }
+
+    private static List<Pessoa> novasPessoas() {
+        List<Pessoa> pessoas = new ArrayList<>(PESSOAS);
+        for (int i = 0; i < PESSOAS; i++) {
+            long cpf = PROXIMO_CPF.getAndIncrement();
+            Pessoa pessoa = new Pessoa();
+            pessoa.setNome("Pessoa Cadastro " + cpf);
+            pessoa.setCpf(Long.toString(cpf));
+            pessoa.setEmail("pessoa" + cpf + "@cadastro.com");
+            pessoas.add(pessoa);
+        }
+        return pessoas;
+    }
+
+    private static long[] medianas(long[][] medicoes) {
+        long[] resultado = new long[medicoes[0].length];
+        for (int coluna = 0; coluna < resultado.length; coluna++) {
+            int indice = coluna;
+            long[] valores = Arrays.stream(medicoes).mapToLong(medicao -> medicao[indice]).sorted().toArray();
+            resultado[coluna] = valores[valores.length / 2];
+        }
+        return resultado;
+    }
+
+    private static void imprimir(String operacao, long[] medianas) {
+        double milissegundos = medianas[0] / 1e6;
+        System.out.printf("%-36s %12.1f %14.0f %10d%n", operacao, milissegundos,
+                PESSOAS * 1000.0 / milissegundos, medianas[1]);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.sistemaescolar.carga;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Cadastro de pessoas com a configuração do application.properties: IDs reservados da sequence em
+ * blocos de 50 e INSERTs enviados em lotes ({@code hibernate.jdbc.batch_size=50}).
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "testes.carga", matches = "true")
+class CadastroPessoasComLotesTest extends CadastroPessoasCarga {
+
+    @Override
+    protected String modo() {
+        return "INSERTs em lotes";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.sistemaescolar.carga;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Cadastro de pessoas sem lotes de INSERT ({@code hibernate.jdbc.batch_size=1}): um comando e uma ida ao
+ * banco por pessoa, o comportamento que a geração de IDs por IDENTITY impunha. É a base de comparação
+ * para {@link CadastroPessoasComLotesTest}.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.jdbc.batch_size=1"})
+@EnabledIfSystemProperty(named = "testes.carga", matches = "true")
+class CadastroPessoasSemLotesTest extends CadastroPessoasCarga {
+
+    @Override
+    protected String modo() {
+        return "um INSERT por pessoa";
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.sistemaescolar.carga;
+
+import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.repository.CursoRepository;
+import com.example.sistemaescolar.repository.MatriculaRepository;
+import com.example.sistemaescolar.repository.PessoaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Teste de carga do fluxo de matrícula: cada cliente simulado lista os cursos ativos e se matricula
+ * em cada um dos cursos de teste, e por fim consulta as próprias matrículas. Todos os clientes
+ * começam juntos e o relatório traz a vazão e os percentis de latência de cada operação.
+ * As subclasses sobem o backend em cada modo de threads, para que os relatórios possam ser comparados.
+ * <p>
+ * Roda contra o PostgreSQL configurado no application.properties e só é executado com
+ * {@code mvn test -Dtestes.carga=true}. A quantidade de clientes e de cursos pode ser alterada com
+ * {@code -Dcarga.clientes=1000 -Dcarga.cursos=5}.
+ */
+abstract class CargaMatriculas {
+
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 1000);
+    private static final int CURSOS = Integer.getInteger("carga.cursos", 5);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private MatriculaRepository matriculaRepository;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private List<Pessoa> alunos;
+    private List<Curso> cursos;
+
+    /**
+     * Nome do modo de threads testado, usado no título do relatório.
+     */
+    protected abstract String modo();
+
+    @BeforeEach
+    void setUp() {
+        List<Pessoa> novosAlunos = new ArrayList<>(CLIENTES);
+        for (int i = 0; i < CLIENTES; i++) {
+            Pessoa aluno = new Pessoa();
+            aluno.setNome("Aluno Carga " + i);
+            novosAlunos.add(aluno);
+        }
+        alunos = pessoaRepository.saveAll(novosAlunos);
+
+        List<Curso> novosCursos = new ArrayList<>(CURSOS);
+        for (int i = 0; i < CURSOS; i++) {
+            Curso curso = new Curso();
+            curso.setNome("Curso Carga " + i);
+            curso.setValor(new BigDecimal("100.00"));
+            novosCursos.add(curso);
+        }
+        cursos = cursoRepository.saveAll(novosCursos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Curso curso : cursos) {
+            matriculaRepository.deleteAll(matriculaRepository.findByCursoId(curso.getId()));
+        }
+        cursoRepository.deleteAll(cursos);
+        pessoaRepository.deleteAll(alunos);
+    }
+
+    @Test
+    void fluxoDeMatriculaComClientesSimultaneos() throws Exception {
+        // Aquecimento: carrega classes, caches e conexões antes da medição
+        for (int i = 0; i < 200; i++) {
+            enviar(HttpRequest.newBuilder(uri("/api/cursos/ativos")).GET().build());
+        }
+
+        // Uma thread por cliente, todas liberadas ao mesmo tempo
+        RegistroLatencias registro = new RegistroLatencias();
+        ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>(CLIENTES);
+        for (Pessoa aluno : alunos) {
+            tarefas.add(clientes.submit(() -> {
+                largada.await();
+                executarCliente(aluno, registro);
+                return null;
+            }));
+        }
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(10, TimeUnit.MINUTES);
+        }
+        long duracao = System.nanoTime() - inicio;
+        clientes.shutdown();
+
+        System.out.println(registro.relatorio(modo() + ", " + CLIENTES + " clientes", duracao));
+        registro.gravarDistribuicoes(Path.of("target", "carga"), "matriculas-" + modo().toLowerCase().replace(' ', '-'));
+        assertEquals(0, registro.erros());
+    }
+
+    private void executarCliente(Pessoa aluno, RegistroLatencias registro) throws InterruptedException {
+        for (Curso curso : cursos) {
+            long inicio = System.nanoTime();
+            int status = enviar(HttpRequest.newBuilder(uri("/api/cursos/ativos")).GET().build());
+            registro.registrar("GET /api/cursos/ativos", inicio, status == 200);
+
+            String corpo = String.format("{\"alunoId\": %d, \"cursoId\": %d, \"valorCobrado\": \"100.00\", \"dataVencimento\": \"%s\"}",
+                    aluno.getId(), curso.getId(), LocalDate.now().plusMonths(1));
+            inicio = System.nanoTime();
+            status = enviar(HttpRequest.newBuilder(uri("/api/matriculas"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build());
+            registro.registrar("POST /api/matriculas", inicio, status == 201);
+        }
+
+        long inicio = System.nanoTime();
+        int status = enviar(HttpRequest.newBuilder(uri("/api/matriculas/aluno/" + aluno.getId())).GET().build());
+        registro.registrar("GET /api/matriculas/aluno/{id}", inicio, status == 200);
+    }
+
+    // Devolve o status HTTP, ou -1 se a requisição falhar (ex: conexão recusada ou tempo esgotado)
+    private int enviar(HttpRequest requisicao) throws InterruptedException {
+        try {
+            return http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.sistemaescolar.carga;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Fluxo de matrícula com o backend no modo padrão: requisições no pool de threads do Tomcat.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=false", "spring.jpa.show-sql=false"})
+@EnabledIfSystemProperty(named = "testes.carga", matches = "true")
+class CargaMatriculasThreadsPlataformaTest extends CargaMatriculas {
+
+    @Override
+    protected String modo() {
+        return "Threads de plataforma";
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.sistemaescolar.carga;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Fluxo de matrícula com o backend no perfil threads-virtuais (exige Java 21 ou superior).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("threads-virtuais")
+@EnabledIfSystemProperty(named = "testes.carga", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class CargaMatriculasThreadsVirtuaisTest extends CargaMatriculas {
+
+    @Override
+    protected String modo() {
+        return "Virtual threads";
+    }
+}
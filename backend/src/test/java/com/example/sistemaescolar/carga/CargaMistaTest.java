@@ -0,0 +1,228 @@
+package com.example.sistemaescolar.carga;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Teste de carga de ponta a ponta com tráfego misto, para descobrir antes do início do semestre
+ * onde o backend deixa de dar conta. Sobe um PostgreSQL descartável (Testcontainers), cria o esquema
+ * pelas migrações do Flyway, gera a massa de dados e mantém os clientes simultâneos fazendo, durante
+ * o tempo configurado: listagem de cursos ativos, busca de pessoa por CPF, matrícula e alteração de
+ * status de pagamento. Cada endpoint tem seu HdrHistogram; o relatório sai no console e as
+ * distribuições completas em {@code target/carga/*.hgrm}, para comparação entre versões.
+ * <p>
+ * Exige Docker e só é executado com {@code mvn test -Dtestes.carga=true -Dtest=CargaMistaTest}.
+ * O tamanho da carga pode ser alterado com {@code -Dcarga.pessoas=20000 -Dcarga.cursos=50
+ * -Dcarga.clientes=200 -Dcarga.segundos=60}; o modo de threads, com {@code -Dspring.profiles.active=threads-virtuais}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+@Testcontainers
+@EnabledIfSystemProperty(named = "testes.carga", matches = "true")
+class CargaMistaTest {
+
+    private static final int PESSOAS = Integer.getInteger("carga.pessoas", 20_000);
+    private static final int CURSOS = Integer.getInteger("carga.cursos", 50);
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 200);
+    private static final int SEGUNDOS = Integer.getInteger("carga.segundos", 60);
+
+    // Cada pessoa começa matriculada nos dois cursos seguintes ao seu (por ID), os demais ficam livres para a carga
+    private static final int MATRICULAS_POR_PESSOA = 2;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configurarBanco(DynamicPropertyRegistry registro) {
+        registro.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registro.add("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", () -> "true");
+        registro.add("spring.datasource.username", POSTGRES::getUsername);
+        registro.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private static List<Long> pessoaIds;
+    private static List<Long> cursoIds;
+    private static List<Long> matriculaIds;
+    private static List<String> cpfs;
+
+    @BeforeAll
+    static void verificarParametros() {
+        if (CURSOS <= MATRICULAS_POR_PESSOA) {
+            throw new IllegalArgumentException("carga.cursos deve ser maior que " + MATRICULAS_POR_PESSOA);
+        }
+    }
+
+    @Test
+    @DisplayName("Tráfego misto com clientes simultâneos sobre a massa de dados gerada")
+    void trafegoMisto() throws Exception {
+        popularBanco();
+
+        // Cada cliente altera apenas as matrículas da sua fatia, para que dois clientes nunca disputem
+        // a mesma matrícula (o conflito de versão seria um erro da carga, não do backend)
+        AtomicLong proximaMatricula = new AtomicLong();
+        RegistroLatencias registro = new RegistroLatencias();
+        ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>(CLIENTES);
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(SEGUNDOS);
+        for (int cliente = 0; cliente < CLIENTES; cliente++) {
+            int indiceCliente = cliente;
+            tarefas.add(clientes.submit(() -> {
+                largada.await();
+                while (System.nanoTime() < fim) {
+                    executarOperacao(indiceCliente, proximaMatricula, registro);
+                }
+                return null;
+            }));
+        }
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(SEGUNDOS + 120L, TimeUnit.SECONDS);
+        }
+        long duracao = System.nanoTime() - inicio;
+        clientes.shutdown();
+
+        System.out.println(registro.relatorio(String.format("Tráfego misto, %d clientes, %d pessoas, %d cursos",
+                CLIENTES, PESSOAS, CURSOS), duracao));
+        registro.gravarDistribuicoes(Path.of("target", "carga"), "misto");
+        assertEquals(0, registro.erros());
+    }
+
+    // Sorteia a operação com a proporção aproximada do uso real: mais leituras que escritas
+    private void executarOperacao(int cliente, AtomicLong proximaMatricula, RegistroLatencias registro)
+            throws InterruptedException {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int sorteio = aleatorio.nextInt(100);
+        long inicio = System.nanoTime();
+        if (sorteio < 40) {
+            int status = enviar(HttpRequest.newBuilder(uri("/api/cursos/ativos")).GET().build());
+            registro.registrar("GET /api/cursos/ativos", inicio, status == 200);
+        } else if (sorteio < 70) {
+            String cpf = cpfs.get(aleatorio.nextInt(cpfs.size()));
+            int status = enviar(HttpRequest.newBuilder(uri("/api/pessoas/cpf/" + cpf)).GET().build());
+            registro.registrar("GET /api/pessoas/cpf/{cpf}", inicio, status == 200);
+        } else if (sorteio < 85) {
+            // Pares (pessoa, curso) ainda livres, sem repetição entre os clientes
+            long sequencia = proximaMatricula.getAndIncrement();
+            int indicePessoa = (int) (sequencia % PESSOAS);
+            int deslocamento = MATRICULAS_POR_PESSOA + 1 + (int) (sequencia / PESSOAS);
+            if (deslocamento >= CURSOS) {
+                return; // Todos os pares livres já foram usados
+            }
+            String corpo = String.format("{\"alunoId\": %d, \"cursoId\": %d, \"valorCobrado\": \"100.00\", \"dataVencimento\": \"%s\"}",
+                    pessoaIds.get(indicePessoa), cursoIds.get((indicePessoa + deslocamento) % CURSOS),
+                    LocalDate.now().plusMonths(1));
+            inicio = System.nanoTime();
+            int status = enviar(HttpRequest.newBuilder(uri("/api/matriculas"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build());
+            registro.registrar("POST /api/matriculas", inicio, status == 201);
+        } else {
+            int fatia = matriculaIds.size() / CLIENTES;
+            Long matriculaId = matriculaIds.get(cliente * fatia + aleatorio.nextInt(Math.max(1, fatia)));
+            String novoStatus = aleatorio.nextBoolean() ? "PAGO" : "PENDENTE";
+            int status = enviar(HttpRequest.newBuilder(uri("/api/matriculas/" + matriculaId + "/status-pagamento"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\": \"" + novoStatus + "\"}"))
+                    .build());
+            registro.registrar("PATCH /api/matriculas/{id}/status-pagamento", inicio, status == 200);
+        }
+    }
+
+    // Massa de dados gerada direto no banco, em poucos comandos, e os contadores por curso recalculados no final
+    private void popularBanco() {
+        jdbcTemplate.update("""
+                INSERT INTO pessoas (id, nome, cpf, email)
+                SELECT nextval('pessoas_seq'), 'Pessoa Carga ' || g, lpad(g::text, 11, '0'), 'pessoa' || g || '@carga.com'
+                FROM generate_series(1, ?) g
+                """, PESSOAS);
+        jdbcTemplate.update("""
+                INSERT INTO cursos (id, nome, valor, ativo)
+                SELECT nextval('cursos_seq'), 'Curso Carga ' || g, 100 + g, true
+                FROM generate_series(1, ?) g
+                """, CURSOS);
+        pessoaIds = jdbcTemplate.queryForList("SELECT id FROM pessoas ORDER BY id", Long.class);
+        cursoIds = jdbcTemplate.queryForList("SELECT id FROM cursos ORDER BY id", Long.class);
+        cpfs = jdbcTemplate.queryForList("SELECT cpf FROM pessoas ORDER BY id", String.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO matriculas (id, pessoa_id, curso_id, data_matricula, valor_cobrado, status_pagamento, data_vencimento)
+                SELECT nextval('matriculas_seq'), p.id, c.id, CURRENT_DATE, c.valor,
+                       CASE WHEN (p.n + d) % 3 = 0 THEN 'PAGO' ELSE 'PENDENTE' END,
+                       CURRENT_DATE + ((p.n + d) % 60)
+                FROM (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM pessoas) p
+                CROSS JOIN generate_series(1, ?) d
+                JOIN (SELECT id, valor, row_number() OVER (ORDER BY id) - 1 AS n FROM cursos) c
+                  ON c.n = (p.n + d) % ?
+                """, MATRICULAS_POR_PESSOA, CURSOS);
+        jdbcTemplate.update("""
+                INSERT INTO cursos_contadores (curso_id, matriculados, pagos, receita)
+                SELECT curso_id,
+                       COUNT(*),
+                       COUNT(*) FILTER (WHERE status_pagamento = 'PAGO'),
+                       COALESCE(SUM(valor_cobrado) FILTER (WHERE status_pagamento = 'PAGO'), 0)
+                FROM matriculas
+                GROUP BY curso_id
+                ON CONFLICT (curso_id) DO UPDATE
+                SET matriculados = EXCLUDED.matriculados, pagos = EXCLUDED.pagos, receita = EXCLUDED.receita
+                """);
+        matriculaIds = jdbcTemplate.queryForList("SELECT id FROM matriculas ORDER BY id", Long.class);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    // Devolve o status HTTP, ou -1 se a requisição falhar (ex: conexão recusada ou tempo esgotado)
+    private int enviar(HttpRequest requisicao) throws InterruptedException {
+        try {
+            return http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.sistemaescolar.carga;
+
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.service.PessoaService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o custo de {@code PessoaService.listarTodos()} em uma transação somente leitura com o da
+ * mesma listagem em uma transação comum (como era antes): na comum, o Hibernate guarda uma cópia do
+ * estado de cada pessoa carregada e as compara uma a uma no flush do commit. Para cada modo são
+ * medidos, na thread do teste, o tempo de CPU e os bytes alocados da transação inteira (incluindo o
+ * commit) e a memória ocupada com o contexto de persistência ainda aberto; o relatório traz as medianas.
+ * <p>
+ * Exige Docker e só é executado com {@code mvn test -Dtestes.carga=true -Dtest=ListagemSomenteLeituraTest}.
+ * A quantidade de pessoas e de repetições pode ser alterada com {@code -Dcarga.pessoas=100000 -Dcarga.repeticoes=10}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Testcontainers
+@EnabledIfSystemProperty(named = "testes.carga", matches = "true")
+class ListagemSomenteLeituraTest {
+
+    private static final int PESSOAS = Integer.getInteger("carga.pessoas", 100_000);
+    private static final int REPETICOES = Integer.getInteger("carga.repeticoes", 10);
+    private static final int AQUECIMENTO = 3;
+    private static final double BYTES_POR_MB = 1024.0 * 1024.0;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configurarBanco(DynamicPropertyRegistry registro) {
+        registro.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registro.add("spring.datasource.username", POSTGRES::getUsername);
+        registro.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    @DisplayName("listarTodos em transação somente leitura deve ocupar menos memória que em transação comum")
+    void listarTodosSomenteLeitura() {
+        jdbcTemplate.update("""
+                INSERT INTO pessoas (id, nome, cpf, email)
+                SELECT nextval('pessoas_seq'), 'Pessoa Listagem ' || g, lpad(g::text, 11, '0'), 'pessoa' || g || '@listagem.com'
+                FROM generate_series(1, ?) g
+                """, PESSOAS);
+        jdbcTemplate.execute("ANALYZE pessoas");
+
+        // A consulta da transação comum é a mesma do findTodasSomenteLeitura(), mas sem as dicas de somente leitura
+        Supplier<List<Pessoa>> leituraEscrita = () ->
+                entityManager.createQuery("select p from Pessoa p", Pessoa.class).getResultList();
+        Supplier<List<Pessoa>> somenteLeitura = pessoaService::listarTodos;
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            medir(false, leituraEscrita);
+            medir(true, somenteLeitura);
+        }
+        long[][] comum = new long[REPETICOES][];
+        long[][] leitura = new long[REPETICOES][];
+        for (int i = 0; i < REPETICOES; i++) {
+            comum[i] = medir(false, leituraEscrita);
+            leitura[i] = medir(true, somenteLeitura);
+        }
+
+        long[] medianaComum = medianas(comum);
+        long[] medianaLeitura = medianas(leitura);
+        System.out.printf("%n== listarTodos com %d pessoas (medianas de %d repetições) ==%n", PESSOAS, REPETICOES);
+        System.out.printf("%-20s %10s %14s %14s%n", "transação", "CPU (ms)", "alocado (MB)", "retido (MB)");
+        imprimir("comum", medianaComum);
+        imprimir("somente leitura", medianaLeitura);
+
+        assertTrue(medianaLeitura[2] < medianaComum[2],
+                "A transação somente leitura deveria reter menos memória que a comum");
+    }
+
+    /**
+     * Executa a listagem em uma transação e devolve {CPU em ns, bytes alocados, bytes retidos}.
+     * A memória retida é medida antes do commit, com as pessoas ainda no contexto de persistência.
+     */
+    private long[] medir(boolean somenteLeitura, Supplier<List<Pessoa>> listagem) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        long[] retido = new long[1];
+
+        long heapInicial = heapAposColeta();
+        long cpuInicial = threads.getCurrentThreadCpuTime();
+        long alocadoInicial = threads.getCurrentThreadAllocatedBytes();
+        transacao.executeWithoutResult(status -> {
+            List<Pessoa> pessoas = listagem.get();
+            assertEquals(PESSOAS, pessoas.size());
+            // A coleta entra na CPU e na alocação dos dois modos igualmente
+            retido[0] = heapAposColeta() - heapInicial;
+        });
+        long cpu = threads.getCurrentThreadCpuTime() - cpuInicial;
+        long alocado = threads.getCurrentThreadAllocatedBytes() - alocadoInicial;
+        return new long[]{cpu, alocado, retido[0]};
+    }
+
+    private long heapAposColeta() {
+        System.gc();
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long[] medianas(long[][] medicoes) {
+        long[] resultado = new long[medicoes[0].length];
+        for (int coluna = 0; coluna < resultado.length; coluna++) {
+            int indice = coluna;
+            long[] valores = Arrays.stream(medicoes).mapToLong(medicao -> medicao[indice]).sorted().toArray();
+            resultado[coluna] = valores[valores.length / 2];
+        }
+        return resultado;
+    }
+
+    private static void imprimir(String modo, long[] medianas) {
+        System.out.printf("%-20s %10.1f %14.1f %14.1f%n", modo, medianas[0] / 1e6,
+                medianas[1] / BYTES_POR_MB, medianas[2] / BYTES_POR_MB);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.sistemaescolar.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latências registradas por operação durante um teste de carga (em HdrHistograms, com 3 dígitos
+ * significativos), com o relatório de vazão e percentis. Pode ser alimentado por vários clientes ao mesmo tempo.
+ */
+class RegistroLatencias {
+
+    private static final double NANOS_POR_MS = 1e6;
+
+    private final Map<String, Histogram> histogramas = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errosPorOperacao = new ConcurrentHashMap<>();
+
+    void registrar(String operacao, long inicioNanos, boolean sucesso) {
+        long duracao = System.nanoTime() - inicioNanos;
+        histogramas.computeIfAbsent(operacao, o -> new ConcurrentHistogram(3)).recordValue(duracao);
+        if (!sucesso) {
+            errosPorOperacao.computeIfAbsent(operacao, o -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    long total() {
+        return histogramas.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long erros() {
+        return errosPorOperacao.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * Monta o relatório com uma linha por operação: quantidade, erros, vazão e latências em ms.
+     *
+     * @param titulo O título do relatório (ex: o modo de threads testado).
+     * @param duracaoNanos A duração total da carga, usada no cálculo da vazão.
+     */
+    String relatorio(String titulo, long duracaoNanos) {
+        double segundos = duracaoNanos / 1e9;
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("%n== %s: %d requisições em %.1f s (%.0f req/s), %d erros ==%n",
+                titulo, total(), segundos, total() / segundos, erros()));
+        texto.append(String.format("%-36s %8s %6s %9s %8s %8s %8s %8s %8s%n",
+                "operação", "total", "erros", "req/s", "p50", "p90", "p99", "p99.9", "máx"));
+        histogramas.keySet().stream().sorted().forEach(operacao -> {
+            Histogram histograma = histogramas.get(operacao);
+            AtomicLong erros = errosPorOperacao.get(operacao);
+            texto.append(String.format("%-36s %8d %6d %9.0f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    operacao, histograma.getTotalCount(), erros != null ? erros.get() : 0,
+                    histograma.getTotalCount() / segundos,
+                    histograma.getValueAtPercentile(50) / NANOS_POR_MS,
+                    histograma.getValueAtPercentile(90) / NANOS_POR_MS,
+                    histograma.getValueAtPercentile(99) / NANOS_POR_MS,
+                    histograma.getValueAtPercentile(99.9) / NANOS_POR_MS,
+                    histograma.getMaxValue() / NANOS_POR_MS));
+        });
+        return texto.toString();
+    }
+
+    /**
+     * Grava a distribuição completa de percentis de cada operação (formato .hgrm, em ms), que pode ser
+     * comparada entre execuções ou aberta no HdrHistogram Plotter.
+     *
+     * @param diretorio O diretório de saída (criado se não existir).
+     * @param prefixo O prefixo dos arquivos, ex: o nome do cenário.
+     */
+    void gravarDistribuicoes(Path diretorio, String prefixo) throws IOException {
+        Files.createDirectories(diretorio);
+        for (Map.Entry<String, Histogram> entrada : histogramas.entrySet()) {
+            String nome = prefixo + "-" + entrada.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream saida = new PrintStream(Files.newOutputStream(diretorio.resolve(nome)), true,
+                    StandardCharsets.UTF_8)) {
+                entrada.getValue().outputPercentileDistribution(saida, NANOS_POR_MS);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.sistemaescolar.controller;
+
+import com.example.sistemaescolar.dto.ErroDTO;
+import com.example.sistemaescolar.dto.NovaMatriculaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrosMatriculaHandlerTest {
+
+    private final ErrosMatriculaHandler handler = new ErrosMatriculaHandler();
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @Test
+    @DisplayName("Deve ler o corpo da matrícula direto para o registro tipado")
+    void deveLerCorpoParaRegistro() throws IOException {
+        NovaMatriculaDTO dados = objectMapper.readValue(
+                "{\"alunoId\": 1, \"cursoId\": 2, \"valorCobrado\": \"150.00\", \"dataVencimento\": \"2026-03-10\"}",
+                NovaMatriculaDTO.class);
+
+        assertEquals(new NovaMatriculaDTO(1L, 2L, new BigDecimal("150.00"), LocalDate.of(2026, 3, 10)), dados);
+    }
+
+    @Test
+    @DisplayName("Deve recusar campos ausentes, valor negativo e valor com mais de duas casas decimais")
+    void deveValidarRegistro() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        Set<ConstraintViolation<NovaMatriculaDTO>> violacoes = validator.validate(
+                new NovaMatriculaDTO(null, 2L, new BigDecimal("-1.005"), null));
+
+        assertEquals(Set.of("alunoId", "valorCobrado", "dataVencimento"),
+                violacoes.stream().map(v -> v.getPropertyPath().toString()).collect(Collectors.toSet()));
+        assertTrue(validator.validate(new NovaMatriculaDTO(1L, 2L, new BigDecimal("150.00"), LocalDate.now())).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 com o erro de cada campo inválido")
+    void deveResponderErrosDeValidacaoPorCampo() throws Exception {
+        MapBindingResult resultado = new MapBindingResult(new HashMap<>(), "dadosMatricula");
+        resultado.addError(new FieldError("dadosMatricula", "cursoId", "é obrigatório"));
+        resultado.addError(new FieldError("dadosMatricula", "alunoId", "é obrigatório"));
+        MethodParameter parametro = new MethodParameter(
+                MatriculaController.class.getMethod("realizarMatricula", NovaMatriculaDTO.class), 0);
+
+        ResponseEntity<ErroDTO> resposta = handler.tratarValidacao(new MethodArgumentNotValidException(parametro, resultado));
+
+        assertEquals(HttpStatus.BAD_REQUEST, resposta.getStatusCode());
+        assertEquals(ErrosMatriculaHandler.DADOS_INVALIDOS, resposta.getBody().mensagem());
+        assertEquals(List.of("alunoId", "cursoId"), List.copyOf(resposta.getBody().campos().keySet()));
+    }
+
+    @Test
+    @DisplayName("Deve indicar o campo com formato inválido")
+    void deveIndicarCampoComFormatoInvalido() {
+        HttpMessageNotReadableException erro = lerInvalido(
+                "{\"alunoId\": \"abc\", \"cursoId\": 2, \"valorCobrado\": 10, \"dataVencimento\": \"2026-03-10\"}");
+
+        ResponseEntity<ErroDTO> resposta = handler.tratarCorpoIlegivel(erro);
+
+        assertEquals(HttpStatus.BAD_REQUEST, resposta.getStatusCode());
+        assertEquals("formato inválido", resposta.getBody().campos().get("alunoId"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 sem campos para um JSON malformado")
+    void deveResponderJsonMalformado() {
+        ResponseEntity<ErroDTO> resposta = handler.tratarCorpoIlegivel(lerInvalido("{\"alunoId\": 1,"));
+
+        assertEquals(ErrosMatriculaHandler.CORPO_INVALIDO, resposta.getBody().mensagem());
+        assertTrue(resposta.getBody().campos().isEmpty());
+    }
+
+    // Reproduz a exceção que o conversor de mensagens do Spring lança para o corpo informado
+    private HttpMessageNotReadableException lerInvalido(String corpo) {
+        MockHttpInputMessage mensagem = new MockHttpInputMessage(corpo.getBytes());
+        try {
+            objectMapper.readValue(mensagem.getBody(), NovaMatriculaDTO.class);
+        } catch (IOException e) {
+            return new HttpMessageNotReadableException("JSON parse error: " + e.getMessage(), e, mensagem);
+        }
+        throw new AssertionError("O corpo deveria ser inválido: " + corpo);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.sistemaescolar.controller;
+
+import com.example.sistemaescolar.dto.ErroDTO;
+import com.example.sistemaescolar.model.Matricula;
+import com.example.sistemaescolar.model.StatusPagamento;
+import com.example.sistemaescolar.service.MatriculaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MatriculaControllerTest {
+
+    @Mock
+    private MatriculaService matriculaService;
+
+    private MatriculaController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new MatriculaController(matriculaService, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Alteração de status com versão desatualizada deve responder 409, não 404")
+    void alteracaoDeStatusConcorrenteDeveResponderConflito() {
+        when(matriculaService.atualizarStatusPagamento(1L, StatusPagamento.PAGO))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Matricula.class, 1L));
+
+        assertEquals(HttpStatus.CONFLICT,
+                controller.atualizarStatusPagamento(1L, Map.of("status", "pago")).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Cancelamento com versão desatualizada deve responder 409, não 404")
+    void cancelamentoConcorrenteDeveResponderConflito() {
+        doThrow(new ObjectOptimisticLockingFailureException(Matricula.class, 1L))
+                .when(matriculaService).cancelarMatricula(1L);
+
+        assertEquals(HttpStatus.CONFLICT, controller.cancelarMatricula(1L).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Matrícula inexistente continua respondendo 404")
+    void matriculaInexistenteDeveResponderNaoEncontrado() {
+        doThrow(new RuntimeException("Matrícula não encontrada com ID: 99"))
+                .when(matriculaService).cancelarMatricula(99L);
+
+        assertEquals(HttpStatus.NOT_FOUND, controller.cancelarMatricula(99L).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Erros da matrícula em lote devem vir no mesmo formato ErroDTO da matrícula individual")
+    void errosDoLoteDevemUsarErroDTO() {
+        when(matriculaService.realizarMatriculasEmLote(List.of()))
+                .thenThrow(new IllegalArgumentException("O lote de matrículas está vazio."));
+        when(matriculaService.realizarMatriculasEmLote(null))
+                .thenThrow(new DuplicateKeyException("Aluno já matriculado neste curso."));
+
+        ResponseEntity<?> invalido = controller.realizarMatriculasEmLote(List.of());
+        ResponseEntity<?> conflito = controller.realizarMatriculasEmLote(null);
+
+        assertEquals(new ErroDTO(400, "O lote de matrículas está vazio."), invalido.getBody());
+        assertEquals(new ErroDTO(409, "Aluno já matriculado neste curso."), conflito.getBody());
+    }
+
+    @Test
+    @DisplayName("Lote de status inválido deve responder 400 com ErroDTO")
+    void loteDeStatusInvalidoDeveUsarErroDTO() {
+        when(matriculaService.atualizarStatusPagamentoEmLote(List.of()))
+                .thenThrow(new IllegalArgumentException("O lote de atualizações está vazio."));
+
+        ResponseEntity<?> resposta = controller.atualizarStatusPagamentoEmLote(List.of());
+
+        assertEquals(HttpStatus.BAD_REQUEST, resposta.getStatusCode());
+        assertEquals(new ErroDTO(400, "O lote de atualizações está vazio."), resposta.getBody());
+    }
+}
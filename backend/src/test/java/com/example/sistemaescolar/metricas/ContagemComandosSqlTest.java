@@ -0,0 +1,45 @@
+package com.example.sistemaescolar.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContagemComandosSqlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ContagemComandosSql contagem = new ContagemComandosSql(registry);
+
+    @Test
+    @DisplayName("Deve registrar os comandos SQL executados durante a requisição, pela rota")
+    void deveRegistrarComandosPorRequisicao() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/matriculas/aluno/7");
+
+        contagem.doFilter(request, new MockHttpServletResponse(), (req, resp) -> {
+            assertEquals("select 1", contagem.inspect("select 1"));
+            contagem.inspect("select 2");
+            contagem.inspect("select 3");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/matriculas/aluno/{alunoId}");
+        });
+
+        DistributionSummary resumo = registry.find(ContagemComandosSql.METRICA)
+                .tags("method", "GET", "uri", "/api/matriculas/aluno/{alunoId}")
+                .summary();
+        assertNotNull(resumo);
+        assertEquals(1, resumo.count());
+        assertEquals(3, resumo.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Não deve contar comandos executados fora de uma requisição")
+    void naoDeveContarForaDaRequisicao() {
+        assertEquals("select 1", contagem.inspect("select 1"));
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.sistemaescolar.metricas;
+
+import com.example.sistemaescolar.service.CursoServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MetricasAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint pontoDeJuncao;
+
+    @Mock
+    private Signature assinatura;
+
+    private SimpleMeterRegistry registry;
+    private MetricasAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new MetricasAspect(registry);
+        CursoServiceImpl servico = new CursoServiceImpl(null, null, null);
+        when(pontoDeJuncao.getThis()).thenReturn(servico);
+        when(pontoDeJuncao.getTarget()).thenReturn(servico);
+        when(pontoDeJuncao.getSignature()).thenReturn(assinatura);
+        when(assinatura.getName()).thenReturn("buscarPorId");
+    }
+
+    @Test
+    @DisplayName("Deve registrar o tempo da chamada com a classe, o método e sem exceção")
+    void deveRegistrarChamadaSemErro() throws Throwable {
+        when(pontoDeJuncao.proceed()).thenReturn("resultado");
+
+        Object resultado = aspect.medirServico(pontoDeJuncao);
+
+        assertEquals("resultado", resultado);
+        Timer timer = registry.find(MetricasAspect.METRICA_SERVICOS)
+                .tags("classe", "CursoServiceImpl", "metodo", "buscarPorId", "excecao", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Deve contar os erros pela classe da exceção e repassar a exceção")
+    void deveContarErrosPelaClasseDaExcecao() throws Throwable {
+        when(pontoDeJuncao.proceed()).thenThrow(new IllegalArgumentException("Curso não encontrado"));
+
+        assertThrows(IllegalArgumentException.class, () -> aspect.medirRepositorio(pontoDeJuncao));
+        assertThrows(IllegalArgumentException.class, () -> aspect.medirRepositorio(pontoDeJuncao));
+
+        Timer timer = registry.find(MetricasAspect.METRICA_REPOSITORIOS)
+                .tags("metodo", "buscarPorId", "excecao", "IllegalArgumentException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertNull(registry.find(MetricasAspect.METRICA_REPOSITORIOS).tag("excecao", "none").timer());
+    }
+}
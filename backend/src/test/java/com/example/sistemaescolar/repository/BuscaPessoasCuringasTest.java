@@ -0,0 +1,63 @@
+package com.example.sistemaescolar.repository;
+
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.service.PessoaServiceImpl;
+import com.example.sistemaescolar.service.VersaoColecoes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que {@code %}, {@code _} e {@code \} digitados na busca de pessoas são procurados
+ * literalmente, e não expandidos como curingas do LIKE.
+ * Roda contra o PostgreSQL configurado no application.properties e só é executado com
+ * {@code mvn test -Dtestes.banco=true}. Os dados inseridos são descartados ao final (rollback).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "testes.banco", matches = "true")
+class BuscaPessoasCuringasTest {
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private PessoaServiceImpl pessoaService;
+    private Long idComCuringas;
+    private Long idComum;
+
+    @BeforeEach
+    void setUp() {
+        pessoaService = new PessoaServiceImpl(pessoaRepository, new VersaoColecoes());
+        idComCuringas = jdbcTemplate.queryForObject(
+                "INSERT INTO pessoas (id, nome) VALUES (nextval('pessoas_seq'), 'Bolsa 100% de_desconto \\ teste') RETURNING id",
+                Long.class);
+        idComum = jdbcTemplate.queryForObject(
+                "INSERT INTO pessoas (id, nome) VALUES (nextval('pessoas_seq'), 'Pessoa Comum') RETURNING id", Long.class);
+    }
+
+    @ParameterizedTest(name = "termo \"{0}\"")
+    @ValueSource(strings = {"%", "_", "\\"})
+    @DisplayName("Curingas do LIKE no termo devem ser buscados literalmente")
+    void curingaNaoDeveTrazerTodasAsPessoas(String termo) {
+        List<Long> ids = pessoaService.buscar(termo, 50).stream()
+                .map(Pessoa::getId)
+                .toList();
+
+        assertTrue(ids.contains(idComCuringas));
+        assertFalse(ids.contains(idComum));
+    }
+}
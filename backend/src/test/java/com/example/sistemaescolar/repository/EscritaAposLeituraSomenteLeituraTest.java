@@ -0,0 +1,85 @@
+package com.example.sistemaescolar.repository;
+
+import com.example.sistemaescolar.model.StatusPagamento;
+import com.example.sistemaescolar.service.MatriculaServiceImpl;
+import com.example.sistemaescolar.service.VersaoColecoes;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica que os fluxos de escrita continuam gravando suas alterações depois que as consultas de
+ * listagem passaram a carregar as entidades como somente leitura: a alteração de status lê a
+ * matrícula pelo {@code findById}, sem as dicas, e o UPDATE chega ao banco.
+ * Roda contra o PostgreSQL configurado no application.properties e só é executado com
+ * {@code mvn test -Dtestes.banco=true}. Os dados inseridos são descartados ao final (rollback).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "testes.banco", matches = "true")
+class EscritaAposLeituraSomenteLeituraTest {
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private MatriculaRepository matriculaRepository;
+
+    @Autowired
+    private ContadoresCursoRepository contadoresCursoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private MatriculaServiceImpl matriculaService;
+    private Long alunoId;
+    private Long matriculaId;
+
+    @BeforeEach
+    void setUp() {
+        matriculaService = new MatriculaServiceImpl(pessoaRepository, cursoRepository, matriculaRepository,
+                contadoresCursoRepository, new VersaoColecoes());
+        alunoId = jdbcTemplate.queryForObject(
+                "INSERT INTO pessoas (id, nome) VALUES (nextval('pessoas_seq'), 'Aluno Escrita') RETURNING id", Long.class);
+        Long cursoId = jdbcTemplate.queryForObject(
+                "INSERT INTO cursos (id, nome, valor, ativo) VALUES (nextval('cursos_seq'), 'Curso Escrita', 100, true) RETURNING id",
+                Long.class);
+        matriculaId = jdbcTemplate.queryForObject("""
+                INSERT INTO matriculas (id, pessoa_id, curso_id, data_matricula, valor_cobrado, status_pagamento, data_vencimento)
+                VALUES (nextval('matriculas_seq'), ?, ?, CURRENT_DATE, 100, 'PENDENTE', CURRENT_DATE + 30)
+                RETURNING id
+                """, Long.class, alunoId, cursoId);
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Alteração de status deve ser gravada mesmo com as listagens em somente leitura")
+    void alteracaoDeStatusDeveSerGravada() {
+        // A listagem (somente leitura) roda antes, como em uma tela que lista e depois altera
+        assertEquals(StatusPagamento.PENDENTE,
+                matriculaService.listarMatriculasPorAluno(alunoId).get(0).getStatusPagamento());
+        entityManager.clear(); // Cada requisição tem o próprio contexto de persistência
+
+        matriculaService.atualizarStatusPagamento(matriculaId, StatusPagamento.PAGO);
+        entityManager.clear();
+
+        assertEquals("PAGO", jdbcTemplate.queryForObject(
+                "SELECT status_pagamento FROM matriculas WHERE id = ?", String.class, matriculaId));
+        assertEquals(StatusPagamento.PAGO,
+                matriculaRepository.findById(matriculaId).orElseThrow().getStatusPagamento());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.sistemaescolar.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Verifica, com EXPLAIN, que cada consulta dos repositórios tem um índice capaz de atendê-la.
+ * Roda contra o PostgreSQL configurado no application.properties, com o esquema criado pelas
+ * migrações do Flyway, e só é executado com {@code mvn test -Dtestes.banco=true}.
+ * Os dados inseridos são descartados ao final de cada teste (rollback).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "testes.banco", matches = "true")
+class IndicesConsultasTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Massa de dados com a distribuição esperada: poucos cursos inativos e a maioria das matrículas paga
+        jdbcTemplate.execute("""
+                INSERT INTO pessoas (id, nome, cpf, email)
+                SELECT nextval('pessoas_seq'), 'Pessoa Teste ' || g, '8' || lpad(g::text, 10, '0'), 'pessoa' || g || '@teste.com'
+                FROM generate_series(1, 2000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO cursos (id, nome, valor, ativo)
+                SELECT nextval('cursos_seq'), 'Curso Teste ' || g, 100, g % 10 <> 0
+                FROM generate_series(1, 200) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO matriculas (id, pessoa_id, curso_id, data_matricula, valor_cobrado, status_pagamento, data_vencimento)
+                SELECT nextval('matriculas_seq'), p.id, c.id, CURRENT_DATE, 100,
+                       CASE WHEN (p.id + c.id) % 20 = 0 THEN 'PENDENTE'
+                            WHEN (p.id + c.id) % 20 = 1 THEN 'ATRASADO'
+                            ELSE 'PAGO' END,
+                       CURRENT_DATE + ((p.id + c.id) % 60 - 30)::int
+                FROM (SELECT id FROM pessoas ORDER BY id DESC LIMIT 2000) p
+                CROSS JOIN (SELECT id FROM cursos ORDER BY id DESC LIMIT 10) c
+                """);
+        jdbcTemplate.execute("ANALYZE pessoas");
+        jdbcTemplate.execute("ANALYZE cursos");
+        jdbcTemplate.execute("ANALYZE matriculas");
+        // Com a varredura sequencial desencorajada, o plano só cai nela quando nenhum índice atende a consulta
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Consultas dos repositórios não devem fazer varredura sequencial")
+    @CsvSource(delimiter = '|', quoteCharacter = '"', textBlock = """
+            MatriculaRepository.findByAlunoId                                | SELECT * FROM matriculas WHERE pessoa_id = (SELECT MAX(id) FROM pessoas)
+            MatriculaRepository.findByCursoId                                | SELECT * FROM matriculas WHERE curso_id = (SELECT MAX(id) FROM cursos)
+            MatriculaRepository.existsByCursoId                              | SELECT id FROM matriculas WHERE curso_id = (SELECT MAX(id) FROM cursos) LIMIT 1
+            MatriculaRepository.existsByAlunoIdAndCursoId                    | SELECT id FROM matriculas WHERE pessoa_id = (SELECT MAX(id) FROM pessoas) AND curso_id = (SELECT MAX(id) FROM cursos) LIMIT 1
+            MatriculaRepository.findByStatusPagamento                        | SELECT * FROM matriculas WHERE status_pagamento = 'ATRASADO'
+            MatriculaRepository.findByDataVencimentoBeforeAndStatusPagamento | SELECT * FROM matriculas WHERE data_vencimento < CURRENT_DATE AND status_pagamento = 'PENDENTE'
+            MatriculaRepository.findFaixaIdsPorStatusEVencimentoAntes       | SELECT min(id), max(id) FROM matriculas WHERE status_pagamento = 'PENDENTE' AND data_vencimento < CURRENT_DATE
+            MatriculaRepository.findSomenteLeituraByIdGreaterThanOrderByIdAsc | SELECT * FROM matriculas WHERE id > 0 ORDER BY id LIMIT 51
+            CursoRepository.findSomenteLeituraByAtivoTrue                    | SELECT * FROM cursos WHERE ativo = true
+            PessoaRepository.findByCpf                                       | SELECT * FROM pessoas WHERE cpf = '80000000001'
+            PessoaRepository.findRanqueadasPorTermo (nome)                   | SELECT * FROM pessoas WHERE f_unaccent(lower(nome)) LIKE '%teste 19%'
+            PessoaRepository.findRanqueadasPorTermo (email)                  | SELECT * FROM pessoas WHERE lower(email) LIKE 'pessoa19%'
+            PessoaRepository.findRanqueadasPorTermo (cpf)                    | SELECT * FROM pessoas WHERE regexp_replace(cpf, '[^0-9]', '', 'g') LIKE '8000%'
+            """)
+    void consultaDeveUsarIndice(String metodo, String sql) {
+        List<String> plano = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+
+        assertFalse(plano.stream().anyMatch(linha -> linha.contains("Seq Scan")),
+                () -> metodo + " fez varredura sequencial:\n" + String.join("\n", plano));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.sistemaescolar.repository;
+
+import com.example.sistemaescolar.model.Matricula;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Verifica, contando os comandos preparados pelo Hibernate, que as matrículas de um aluno são lidas
+ * com o aluno e o curso em uma única consulta, qualquer que seja a quantidade (sem N+1).
+ * Roda contra o PostgreSQL configurado no application.properties e só é executado com
+ * {@code mvn test -Dtestes.banco=true}. Os dados inseridos são descartados ao final (rollback).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "testes.banco", matches = "true")
+class MatriculasPorAlunoConsultasTest {
+
+    @Autowired
+    private MatriculaRepository matriculaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @ParameterizedTest(name = "{0} matrículas")
+    @ValueSource(ints = {1, 50})
+    @DisplayName("findSomenteLeituraByAlunoId deve carregar aluno e curso em um único comando")
+    void deveUsarUmUnicoComando(int quantidade) {
+        Long alunoId = jdbcTemplate.queryForObject(
+                "INSERT INTO pessoas (id, nome) VALUES (nextval('pessoas_seq'), 'Aluno N+1') RETURNING id", Long.class);
+        // Um curso diferente por matrícula: com N+1, cada curso seria um SELECT a mais
+        jdbcTemplate.update("""
+                INSERT INTO cursos (id, nome, valor, ativo)
+                SELECT nextval('cursos_seq'), 'Curso N+1 ' || g, 100, true FROM generate_series(1, ?) g
+                """, quantidade);
+        jdbcTemplate.update("""
+                INSERT INTO matriculas (id, pessoa_id, curso_id, data_matricula, valor_cobrado, status_pagamento, data_vencimento)
+                SELECT nextval('matriculas_seq'), ?, c.id, CURRENT_DATE, 100, 'PENDENTE', CURRENT_DATE + 30
+                FROM (SELECT id FROM cursos WHERE nome LIKE 'Curso N+1 %') c
+                """, alunoId);
+        entityManager.clear();
+        Statistics estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        List<Matricula> matriculas = matriculaRepository.findSomenteLeituraByAlunoId(alunoId);
+        // Os mesmos acessos da conversão para DTO no serviço
+        for (Matricula matricula : matriculas) {
+            assertNotNull(matricula.getAluno().getNome());
+            assertNotNull(matricula.getCurso().getNome());
+        }
+
+        assertEquals(quantidade, matriculas.size());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.sistemaescolar.roteamento;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AderenciaEscritaFiltroTest {
+
+    private final AderenciaEscrita aderenciaEscrita = new AderenciaEscrita(Duration.ofSeconds(5));
+    private final AderenciaEscritaFiltro filtro = new AderenciaEscritaFiltro(aderenciaEscrita);
+
+    @Test
+    @DisplayName("Requisições de escrita devem devolver o cookie com a duração da janela")
+    void escritaDeveDevolverCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(new MockHttpServletRequest("POST", "/api/matriculas"), response, (req, resp) -> {
+        });
+
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(AderenciaEscritaFiltro.COOKIE + "=1"));
+        assertTrue(cookie.contains("Max-Age=5"));
+    }
+
+    @Test
+    @DisplayName("Leituras com o cookie devem ir para o principal apenas durante a requisição")
+    void leituraComCookieDeveExigirPrincipal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/matriculas/aluno/1");
+        request.setCookies(new Cookie(AderenciaEscritaFiltro.COOKIE, "1"));
+        AtomicBoolean exigiuPrincipal = new AtomicBoolean();
+
+        filtro.doFilter(request, new MockHttpServletResponse(),
+                (req, resp) -> exigiuPrincipal.set(aderenciaEscrita.exigePrincipal()));
+
+        assertTrue(exigiuPrincipal.get());
+        assertFalse(aderenciaEscrita.exigePrincipal());
+    }
+
+    @Test
+    @DisplayName("Leituras sem o cookie podem ir para a réplica")
+    void leituraSemCookieNaoDeveExigirPrincipal() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean exigiuPrincipal = new AtomicBoolean(true);
+
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/pessoas"), response,
+                (req, resp) -> exigiuPrincipal.set(aderenciaEscrita.exigePrincipal()));
+
+        assertFalse(exigiuPrincipal.get());
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    @DisplayName("Leitura logo após uma escrita, com o cookie devolvido por ela, deve ir para o principal")
+    void leituraAposEscritaDeveExigirPrincipal() throws Exception {
+        MockHttpServletResponse respostaEscrita = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("POST", "/api/pessoas"), respostaEscrita, (req, resp) -> {
+        });
+        // O navegador reenvia o cookie recebido na resposta da escrita
+        Cookie cookie = respostaEscrita.getCookie(AderenciaEscritaFiltro.COOKIE);
+        assertNotNull(cookie);
+        MockHttpServletRequest leitura = new MockHttpServletRequest("GET", "/api/pessoas");
+        leitura.setCookies(cookie);
+        AtomicBoolean exigiuPrincipal = new AtomicBoolean();
+
+        filtro.doFilter(leitura, new MockHttpServletResponse(),
+                (req, resp) -> exigiuPrincipal.set(aderenciaEscrita.exigePrincipal()));
+
+        assertTrue(exigiuPrincipal.get());
+    }
+}
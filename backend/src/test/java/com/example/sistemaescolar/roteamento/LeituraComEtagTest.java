@@ -0,0 +1,52 @@
+package com.example.sistemaescolar.roteamento;
+
+import com.example.sistemaescolar.controller.PessoaController;
+import com.example.sistemaescolar.service.PessoaService;
+import com.example.sistemaescolar.service.VersaoColecoes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que os endpoints que respondem com ETag leem do banco principal: o ETag vem dos contadores
+ * em memória, e o conteúdo de uma réplica atrasada não pode ir com ele.
+ */
+class LeituraComEtagTest {
+
+    private final AderenciaEscrita aderenciaEscrita = new AderenciaEscrita(Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Listagem com ETag deve ler do principal apenas durante a chamada")
+    void listagemComEtagDeveLerDoPrincipal() {
+        PessoaService pessoaService = mock(PessoaService.class);
+        AtomicBoolean exigiuPrincipal = new AtomicBoolean();
+        when(pessoaService.listarTodos()).thenAnswer(invocacao -> {
+            exigiuPrincipal.set(aderenciaEscrita.exigePrincipal());
+            return List.of();
+        });
+
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(
+                new PessoaController(pessoaService, new VersaoColecoes(), null, null));
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new LeituraNaPrincipalAspect(aderenciaEscrita));
+        PessoaController controller = fabrica.getProxy();
+
+        controller.listarTodasAsPessoas(new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/api/pessoas"), new MockHttpServletResponse()));
+
+        assertTrue(exigiuPrincipal.get());
+        assertFalse(aderenciaEscrita.exigePrincipal());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.sistemaescolar.roteamento;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoteamentoDataSourceTest {
+
+    @Mock
+    private MonitorReplica monitorReplica;
+
+    private AderenciaEscrita aderenciaEscrita;
+    private RoteamentoDataSource roteamento;
+
+    @BeforeEach
+    void setUp() {
+        aderenciaEscrita = new AderenciaEscrita(Duration.ofSeconds(5));
+        roteamento = new RoteamentoDataSource(monitorReplica, aderenciaEscrita);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        aderenciaEscrita.limpar();
+    }
+
+    @Test
+    @DisplayName("Deve enviar a transação somente leitura para a réplica disponível")
+    void deveEnviarLeituraParaReplica() {
+        iniciarTransacao(true);
+        when(monitorReplica.isDisponivel()).thenReturn(true);
+
+        assertEquals(RoteamentoDataSource.Destino.REPLICA, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Deve enviar a leitura para o principal quando a réplica estiver indisponível ou atrasada")
+    void deveUsarPrincipalSemReplica() {
+        iniciarTransacao(true);
+        when(monitorReplica.isDisponivel()).thenReturn(false);
+
+        assertEquals(RoteamentoDataSource.Destino.PRINCIPAL, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Deve ler do principal depois de uma escrita na mesma thread")
+    void deveLerDoPrincipalAposEscrita() {
+        iniciarTransacao(false);
+        assertEquals(RoteamentoDataSource.Destino.PRINCIPAL, roteamento.determineCurrentLookupKey());
+
+        iniciarTransacao(true);
+        assertEquals(RoteamentoDataSource.Destino.PRINCIPAL, roteamento.determineCurrentLookupKey());
+
+        aderenciaEscrita.limpar();
+        when(monitorReplica.isDisponivel()).thenReturn(true);
+        assertEquals(RoteamentoDataSource.Destino.REPLICA, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Deve ler do principal nos métodos marcados com LeituraNaPrincipal")
+    void deveRespeitarLeituraNaPrincipal() {
+        iniciarTransacao(true);
+
+        aderenciaEscrita.iniciarLeituraNaPrincipal();
+        assertEquals(RoteamentoDataSource.Destino.PRINCIPAL, roteamento.determineCurrentLookupKey());
+        aderenciaEscrita.encerrarLeituraNaPrincipal();
+
+        when(monitorReplica.isDisponivel()).thenReturn(true);
+        assertEquals(RoteamentoDataSource.Destino.REPLICA, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Não deve registrar escrita para conexões fora de transação")
+    void naoDeveRegistrarEscritaSemTransacao() {
+        assertEquals(RoteamentoDataSource.Destino.PRINCIPAL, roteamento.determineCurrentLookupKey());
+
+        assertFalse(aderenciaEscrita.exigePrincipal());
+    }
+
+    @Test
+    @DisplayName("A aderência deve expirar ao fim da janela")
+    void aderenciaDeveExpirar() throws InterruptedException {
+        AderenciaEscrita curta = new AderenciaEscrita(Duration.ofMillis(20));
+        curta.registrarEscrita();
+        assertTrue(curta.exigePrincipal());
+
+        Thread.sleep(40);
+
+        assertFalse(curta.exigePrincipal());
+    }
+
+    private static void iniciarTransacao(boolean somenteLeitura) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(somenteLeitura);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.sistemaescolar.roteamento;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o roteamento com o perfil {@code replica}, que usa o próprio banco principal em uma segunda
+ * URL (identificada pelo {@code ApplicationName=replica}) no papel de réplica. Roda contra o PostgreSQL
+ * configurado no application.properties e só é executado com {@code mvn test -Dtestes.banco=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("replica")
+@EnabledIfSystemProperty(named = "testes.banco", matches = "true")
+class RoteamentoReplicaBancoTest {
+
+    private static final String CONSULTA_APLICACAO = "SELECT current_setting('application_name')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MonitorReplica monitorReplica;
+
+    @Autowired
+    private AderenciaEscrita aderenciaEscrita;
+
+    @BeforeEach
+    void setUp() {
+        monitorReplica.verificar();
+        assertTrue(monitorReplica.isDisponivel());
+    }
+
+    @AfterEach
+    void tearDown() {
+        aderenciaEscrita.limpar();
+    }
+
+    @Test
+    @DisplayName("Transações somente leitura devem usar a réplica e as demais o principal")
+    void deveRotearPorTipoDeTransacao() {
+        assertEquals("replica", aplicacaoNaTransacao(true));
+
+        aderenciaEscrita.limpar();
+        assertNotEquals("replica", aplicacaoNaTransacao(false));
+    }
+
+    @Test
+    @DisplayName("Depois de uma escrita, as leituras da mesma requisição devem usar o principal")
+    void deveLerDoPrincipalAposEscrita() {
+        aplicacaoNaTransacao(false);
+
+        assertNotEquals("replica", aplicacaoNaTransacao(true));
+    }
+
+    private String aplicacaoNaTransacao(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> jdbcTemplate.queryForObject(CONSULTA_APLICACAO, String.class));
+    }
+}
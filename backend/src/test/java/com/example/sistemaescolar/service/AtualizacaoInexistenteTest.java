@@ -0,0 +1,96 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.controller.CursoController;
+import com.example.sistemaescolar.controller.PessoaController;
+import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.repository.ContadoresCursoRepository;
+import com.example.sistemaescolar.repository.CursoRepository;
+import com.example.sistemaescolar.repository.PessoaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que o PUT de uma pessoa ou de um curso inexistente responde 404 em vez de cair no
+ * {@code save}, que inseriria um registro novo quando o cliente não envia a versão.
+ */
+@ExtendWith(MockitoExtension.class)
+class AtualizacaoInexistenteTest {
+
+    private static final Long ID_INEXISTENTE = 99L;
+
+    @Mock
+    private PessoaRepository pessoaRepository;
+
+    @Mock
+    private CursoRepository cursoRepository;
+
+    @Mock
+    private ContadoresCursoRepository contadoresCursoRepository;
+
+    private final VersaoColecoes versaoColecoes = new VersaoColecoes();
+
+    private PessoaServiceImpl pessoaService;
+    private CursoServiceImpl cursoService;
+
+    @BeforeEach
+    void setUp() {
+        pessoaService = new PessoaServiceImpl(pessoaRepository, versaoColecoes);
+        cursoService = new CursoServiceImpl(cursoRepository, contadoresCursoRepository, versaoColecoes);
+    }
+
+    @Test
+    @DisplayName("Atualizar pessoa inexistente sem versão não deve inserir uma pessoa nova")
+    void pessoaInexistenteNaoDeveSerInserida() {
+        when(pessoaRepository.findById(ID_INEXISTENTE)).thenReturn(Optional.empty());
+        Pessoa pessoa = new Pessoa();
+        pessoa.setId(ID_INEXISTENTE);
+        pessoa.setNome("Fulano");
+
+        assertThrows(EmptyResultDataAccessException.class, () -> pessoaService.salvar(pessoa));
+        verify(pessoaRepository, never()).save(any());
+        assertEquals(0, versaoColecoes.versao(VersaoColecoes.PESSOAS));
+    }
+
+    @Test
+    @DisplayName("Atualizar curso inexistente sem versão não deve inserir um curso novo")
+    void cursoInexistenteNaoDeveSerInserido() {
+        when(cursoRepository.findById(ID_INEXISTENTE)).thenReturn(Optional.empty());
+        Curso curso = new Curso();
+        curso.setId(ID_INEXISTENTE);
+        curso.setNome("Violão");
+
+        assertThrows(EmptyResultDataAccessException.class, () -> cursoService.salvar(curso));
+        verify(cursoRepository, never()).save(any());
+        assertEquals(0, versaoColecoes.versao(VersaoColecoes.CURSOS));
+    }
+
+    @Test
+    @DisplayName("PUT de pessoa ou curso inexistente deve responder 404")
+    void putInexistenteDeveResponderNaoEncontrado() {
+        when(pessoaRepository.findById(ID_INEXISTENTE)).thenReturn(Optional.empty());
+        when(cursoRepository.findById(ID_INEXISTENTE)).thenReturn(Optional.empty());
+        PessoaController pessoaController = new PessoaController(pessoaService, versaoColecoes, null, null);
+        CursoController cursoController = new CursoController(cursoService, versaoColecoes);
+
+        assertEquals(HttpStatus.NOT_FOUND,
+                pessoaController.atualizarPessoa(ID_INEXISTENTE, new Pessoa()).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND,
+                cursoController.atualizarCurso(ID_INEXISTENTE, new Curso()).getStatusCode());
+    }
+}
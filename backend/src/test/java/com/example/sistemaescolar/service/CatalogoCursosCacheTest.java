@@ -0,0 +1,178 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.CacheConfig;
+import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.repository.ContadoresCursoRepository;
+import com.example.sistemaescolar.repository.CursoRepository;
+import com.example.sistemaescolar.repository.MatriculaRepository;
+import com.example.sistemaescolar.repository.PessoaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifica que o cache do catálogo de cursos nunca permite matricular em um curso já inativado:
+ * o CursoService roda com o cache real (Caffeine, via CacheConfig) e os repositórios são mocks.
+ */
+@SpringJUnitConfig(CatalogoCursosCacheTest.Configuracao.class)
+class CatalogoCursosCacheTest {
+
+    private static final Long CURSO_ID = 1L;
+    private static final Long ALUNO_ID = 10L;
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Configuracao {
+
+        @Bean
+        CursoRepository cursoRepository() {
+            return mock(CursoRepository.class);
+        }
+
+        @Bean
+        ContadoresCursoRepository contadoresCursoRepository() {
+            return mock(ContadoresCursoRepository.class);
+        }
+
+        @Bean
+        VersaoColecoes versaoColecoes() {
+            return new VersaoColecoes();
+        }
+
+        @Bean
+        CursoService cursoService(CursoRepository cursoRepository, ContadoresCursoRepository contadoresCursoRepository,
+                                  VersaoColecoes versaoColecoes) {
+            return new CursoServiceImpl(cursoRepository, contadoresCursoRepository, versaoColecoes);
+        }
+    }
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private ContadoresCursoRepository contadoresCursoRepository;
+
+    @Autowired
+    private VersaoColecoes versaoColecoes;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private PessoaRepository pessoaRepository;
+    private MatriculaRepository matriculaRepository;
+    private MatriculaServiceImpl matriculaService;
+
+    @BeforeEach
+    void setUp() {
+        reset(cursoRepository, contadoresCursoRepository);
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+
+        pessoaRepository = mock(PessoaRepository.class);
+        matriculaRepository = mock(MatriculaRepository.class);
+        matriculaService = new MatriculaServiceImpl(pessoaRepository, cursoRepository, matriculaRepository,
+                contadoresCursoRepository, versaoColecoes);
+
+        Pessoa aluno = new Pessoa();
+        aluno.setId(ALUNO_ID);
+        aluno.setNome("Aluno Teste");
+        when(pessoaRepository.findById(ALUNO_ID)).thenReturn(Optional.of(aluno));
+    }
+
+    @Test
+    @DisplayName("Curso inativado sem invalidar o cache não deve aceitar matrícula")
+    void cursoInativadoComCacheDesatualizadoNaoDeveAceitarMatricula() {
+        // O curso ativo entra no cache pelas duas leituras do catálogo
+        when(cursoRepository.findById(CURSO_ID)).thenReturn(Optional.of(curso(true)));
+        when(cursoRepository.findSomenteLeituraByAtivoTrue()).thenReturn(List.of(curso(true)));
+        assertTrue(cursoService.buscarPorId(CURSO_ID).orElseThrow().isAtivo());
+        assertEquals(1, cursoService.listarAtivos().size());
+
+        // Inativado no banco sem passar por este serviço (ex: outra instância): o cache ficou desatualizado
+        when(cursoRepository.findById(CURSO_ID)).thenReturn(Optional.of(curso(false)));
+        assertTrue(cursoService.buscarPorId(CURSO_ID).orElseThrow().isAtivo());
+        assertEquals(1, cursoService.listarAtivos().size());
+
+        RuntimeException erro = assertThrows(RuntimeException.class, () -> matriculaService.realizarMatricula(
+                ALUNO_ID, CURSO_ID, new BigDecimal("100.00"), LocalDate.now().plusMonths(1)));
+
+        assertTrue(erro.getMessage().startsWith("Não é possível matricular em um curso inativo"));
+        verify(matriculaRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(contadoresCursoRepository);
+    }
+
+    @Test
+    @DisplayName("Inativar o curso pelo serviço deve invalidar o cache e a matrícula deve ser recusada")
+    void alterarStatusDeveInvalidarCache() {
+        when(cursoRepository.findById(CURSO_ID)).thenReturn(Optional.of(curso(true)));
+        assertTrue(cursoService.buscarPorId(CURSO_ID).orElseThrow().isAtivo());
+
+        Curso inativo = curso(false);
+        when(cursoRepository.findById(CURSO_ID)).thenReturn(Optional.of(inativo));
+        when(cursoRepository.save(any(Curso.class))).thenReturn(inativo);
+        cursoService.alterarStatus(CURSO_ID, false);
+
+        assertFalse(cursoService.buscarPorId(CURSO_ID).orElseThrow().isAtivo());
+        assertThrows(RuntimeException.class, () -> matriculaService.realizarMatricula(
+                ALUNO_ID, CURSO_ID, new BigDecimal("100.00"), LocalDate.now().plusMonths(1)));
+        verify(matriculaRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Leitura antiga gravada no cache depois da invalidação não deve ser servida")
+    void leituraAtrasadaNaoDeveVoltarAoCatalogo() throws Exception {
+        CountDownLatch leituraIniciada = new CountDownLatch(1);
+        CountDownLatch alteracaoConcluida = new CountDownLatch(1);
+        Thread[] leitor = new Thread[1];
+        // O leitor lê o curso ainda ativo e só grava no cache depois que a inativação foi confirmada
+        when(cursoRepository.findById(CURSO_ID)).thenAnswer(invocacao -> {
+            if (Thread.currentThread() == leitor[0]) {
+                leituraIniciada.countDown();
+                assertTrue(alteracaoConcluida.await(5, TimeUnit.SECONDS));
+                return Optional.of(curso(true));
+            }
+            return Optional.of(curso(false));
+        });
+        when(cursoRepository.save(any(Curso.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        leitor[0] = new Thread(() -> cursoService.buscarPorId(CURSO_ID));
+        leitor[0].start();
+        assertTrue(leituraIniciada.await(5, TimeUnit.SECONDS));
+        cursoService.alterarStatus(CURSO_ID, false);
+        alteracaoConcluida.countDown();
+        leitor[0].join(5_000);
+
+        assertFalse(cursoService.buscarPorId(CURSO_ID).orElseThrow().isAtivo());
+    }
+
+    // Uma instância nova a cada chamada, como as entidades carregadas em transações diferentes
+    private static Curso curso(boolean ativo) {
+        Curso curso = new Curso();
+        curso.setId(CURSO_ID);
+        curso.setNome("Violão");
+        curso.setValor(new BigDecimal("100.00"));
+        curso.setAtivo(ativo);
+        curso.setVersao(0L);
+        return curso;
+    }
+}
@@ -24,6 +24,9 @@ class CursoServiceTest {
     @Mock
     private CursoRepository cursoRepository;
 
+    @Mock
+    private VersaoColecoes versaoColecoes;
+
     @InjectMocks
     private CursoServiceImpl cursoService;
 
@@ -78,13 +81,13 @@ class CursoServiceTest {
     @Test
     @DisplayName("Deve listar todos os cursos com sucesso")
     void deveListarTodosOsCursosComSucesso() {
-        when(cursoRepository.findAll()).thenReturn(Arrays.asList(curso, new Curso()));
+        when(cursoRepository.findTodosSomenteLeitura()).thenReturn(Arrays.asList(curso, new Curso()));
 
         List<Curso> cursos = cursoService.listarTodosCursos();
 
         assertNotNull(cursos);
         assertEquals(2, cursos.size());
-        verify(cursoRepository, times(1)).findAll();
+        verify(cursoRepository, times(1)).findTodosSomenteLeitura();
     }
 
     @Test
@@ -0,0 +1,125 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.repository.ContadoresCursoRepository;
+import com.example.sistemaescolar.repository.CursoRepository;
+import com.example.sistemaescolar.repository.MatriculaRepository;
+import com.example.sistemaescolar.repository.PessoaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que centenas de matrículas simultâneas em um curso com limite ocupam exatamente as vagas
+ * disponíveis, e registra a vazão obtida. Roda contra o PostgreSQL configurado no application.properties
+ * e só é executado com {@code mvn test -Dtestes.banco=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "testes.banco", matches = "true")
+class CursoVagasConcorrenciaTest {
+
+    private static final int ALUNOS = 400;
+    private static final int VAGAS = 150;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private MatriculaService matriculaService;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private MatriculaRepository matriculaRepository;
+
+    @Autowired
+    private ContadoresCursoRepository contadoresCursoRepository;
+
+    private List<Pessoa> alunos;
+    private Curso curso;
+
+    @BeforeEach
+    void setUp() {
+        List<Pessoa> novos = new ArrayList<>();
+        for (int i = 0; i < ALUNOS; i++) {
+            Pessoa aluno = new Pessoa();
+            aluno.setNome("Aluno Vagas " + i);
+            novos.add(aluno);
+        }
+        alunos = pessoaRepository.saveAll(novos);
+
+        curso = new Curso();
+        curso.setNome("Curso Vagas");
+        curso.setValor(new BigDecimal("100.00"));
+        curso.setVagas(VAGAS);
+        curso = cursoRepository.save(curso);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matriculaRepository.deleteAll(matriculaRepository.findByCursoId(curso.getId()));
+        cursoRepository.delete(curso); // Os contadores do curso são removidos em cascata
+        pessoaRepository.deleteAll(alunos);
+    }
+
+    @Test
+    @DisplayName("Matrículas simultâneas não devem ultrapassar o limite de vagas do curso")
+    void matriculasSimultaneasDevemRespeitarOLimiteDeVagas() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger semVagas = new AtomicInteger();
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (Pessoa aluno : alunos) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    matriculaService.realizarMatricula(aluno.getId(), curso.getId(),
+                            new BigDecimal("100.00"), LocalDate.now().plusMonths(1));
+                    sucessos.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (!e.getMessage().startsWith("Não há vagas disponíveis")) {
+                        throw e;
+                    }
+                    semVagas.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS); // Propaga qualquer erro inesperado
+        }
+        long duracaoMs = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        executor.shutdown();
+
+        System.out.printf("%d tentativas de matrícula com %d threads em %d ms (%.0f por segundo)%n",
+                ALUNOS, THREADS, duracaoMs, ALUNOS * 1000.0 / duracaoMs);
+        assertEquals(VAGAS, sucessos.get());
+        assertEquals(ALUNOS - VAGAS, semVagas.get());
+        assertEquals(VAGAS, matriculaRepository.findByCursoId(curso.getId()).size());
+        assertEquals(VAGAS, contadoresCursoRepository.findMatriculados(curso.getId()).orElse(0L));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.dto.ImportacaoPessoaResultadoDTO;
+import com.example.sistemaescolar.model.Pessoa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoPessoasTest {
+
+    @Mock
+    private PessoaService pessoaService;
+
+    private ImportacaoPessoas importacaoPessoas;
+
+    private final List<ImportacaoPessoaResultadoDTO> relatorio = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importacaoPessoas = new ImportacaoPessoas(pessoaService, new ObjectMapper().findAndRegisterModules());
+    }
+
+    // Simula o cadastro: gera IDs sequenciais e rejeita o CPF 222 como já cadastrado
+    private void simularCadastro() {
+        when(pessoaService.cadastrarEmBloco(anyList())).thenAnswer(invocation -> {
+            List<Pessoa> pessoas = invocation.getArgument(0);
+            List<String> erros = new ArrayList<>();
+            long id = 100;
+            for (Pessoa pessoa : pessoas) {
+                if ("222".equals(pessoa.getCpf())) {
+                    erros.add("Já existe uma pessoa cadastrada com o CPF: 222");
+                } else {
+                    pessoa.setId(id++);
+                    erros.add(null);
+                }
+            }
+            return erros;
+        });
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV informando o resultado de cada linha na ordem do arquivo")
+    void deveImportarCsvComResultadoPorLinha() throws Exception {
+        simularCadastro();
+        String csv = """
+                nome,cpf,dataNascimento,email,telefone
+                Ana,111,2001-02-03,ana@teste.com,
+                Bruno,222,,,
+                ,333,,,
+                "Silva, Carla",111,,,
+                Davi,444,03/02/2001,,
+                """;
+
+        importacaoPessoas.importar(new StringReader(csv), true, relatorio::add);
+
+        assertEquals(5, relatorio.size());
+        assertEquals(2, relatorio.get(0).getLinha());
+        assertEquals(100L, relatorio.get(0).getPessoaId());
+        assertNull(relatorio.get(0).getErro());
+        assertEquals("Já existe uma pessoa cadastrada com o CPF: 222", relatorio.get(1).getErro());
+        assertEquals("O nome é obrigatório.", relatorio.get(2).getErro());
+        assertEquals("CPF repetido no arquivo: 111", relatorio.get(3).getErro());
+        assertTrue(relatorio.get(4).getErro().startsWith("Data de nascimento inválida"));
+        // Apenas as linhas válidas vão ao banco, em uma única chamada para o bloco
+        verify(pessoaService, times(1)).cadastrarEmBloco(argThat(pessoas ->
+                pessoas.size() == 2 && LocalDate.of(2001, 2, 3).equals(pessoas.get(0).getDataNascimento())));
+    }
+
+    @Test
+    @DisplayName("Deve gravar arquivos grandes em blocos de tamanho fixo")
+    void deveGravarEmBlocos() throws Exception {
+        simularCadastro();
+        StringBuilder ndjson = new StringBuilder();
+        int total = ImportacaoPessoas.TAMANHO_BLOCO * 2 + 1;
+        for (int i = 0; i < total; i++) {
+            ndjson.append("{\"nome\":\"Pessoa ").append(i).append("\",\"cpf\":\"9").append(i).append("\"}\n");
+        }
+
+        importacaoPessoas.importar(new StringReader(ndjson.toString()), false, relatorio::add);
+
+        assertEquals(total, relatorio.size());
+        assertTrue(relatorio.stream().allMatch(resultado -> resultado.getErro() == null));
+        verify(pessoaService, times(3)).cadastrarEmBloco(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve interromper a importação quando o cabeçalho não tem a coluna nome")
+    void deveRejeitarCabecalhoSemNome() throws Exception {
+        importacaoPessoas.importar(new StringReader("cpf,email\n111,a@b.com\n"), true, relatorio::add);
+
+        assertEquals(1, relatorio.size());
+        assertEquals(1, relatorio.get(0).getLinha());
+        verifyNoInteractions(pessoaService);
+    }
+
+    @Test
+    @DisplayName("Deve separar campos CSV com aspas e vírgulas")
+    void deveSepararCamposCsv() {
+        assertEquals(Arrays.asList("a", "b, c", "d \"e\"", ""), ImportacaoPessoas.camposCsv("a,\"b, c\",\"d \"\"e\"\"\","));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.model.Curso;
+import com.example.sistemaescolar.model.Pessoa;
+import com.example.sistemaescolar.repository.CursoRepository;
+import com.example.sistemaescolar.repository.MatriculaRepository;
+import com.example.sistemaescolar.repository.PessoaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que matrículas simultâneas do mesmo aluno no mesmo curso resultam em uma única linha.
+ * Roda contra o PostgreSQL configurado no application.properties e só é executado com
+ * {@code mvn test -Dtestes.banco=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "testes.banco", matches = "true")
+class MatriculaConcorrenciaTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private MatriculaService matriculaService;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private MatriculaRepository matriculaRepository;
+
+    private Pessoa aluno;
+    private Curso curso;
+
+    @BeforeEach
+    void setUp() {
+        aluno = new Pessoa();
+        aluno.setNome("Aluno Concorrência");
+        aluno = pessoaRepository.save(aluno);
+
+        curso = new Curso();
+        curso.setNome("Curso Concorrência");
+        curso.setValor(new BigDecimal("100.00"));
+        curso = cursoRepository.save(curso);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matriculaRepository.deleteAll(matriculaRepository.findByAlunoId(aluno.getId()));
+        cursoRepository.delete(curso);
+        pessoaRepository.delete(aluno);
+    }
+
+    @Test
+    @DisplayName("Apenas uma de várias matrículas simultâneas do mesmo par deve ser gravada")
+    void apenasUmaMatriculaSimultaneaDeveSerGravada() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger duplicadas = new AtomicInteger();
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await(); // Todas as threads tentam matricular ao mesmo tempo
+                try {
+                    matriculaService.realizarMatricula(aluno.getId(), curso.getId(),
+                            new BigDecimal("100.00"), LocalDate.now().plusMonths(1));
+                    sucessos.incrementAndGet();
+                } catch (DuplicateKeyException e) {
+                    duplicadas.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS); // Propaga qualquer erro inesperado
+        }
+        executor.shutdown();
+
+        assertEquals(1, sucessos.get());
+        assertEquals(THREADS - 1, duplicadas.get());
+        assertEquals(1, matriculaRepository.findByAlunoId(aluno.getId()).size());
+    }
+}
@@ -1,22 +1,42 @@
 package com.example.sistemaescolar.service;
 
+import com.example.sistemaescolar.dto.AtualizacaoStatusLoteDTO;
+import com.example.sistemaescolar.dto.CursoDTO;
+import com.example.sistemaescolar.dto.MatriculaDTO;
+import com.example.sistemaescolar.dto.MatriculaLoteItemDTO;
+import com.example.sistemaescolar.dto.MatriculaLoteResultadoDTO;
+import com.example.sistemaescolar.dto.MatriculaStatusItemDTO;
+import com.example.sistemaescolar.dto.MatriculasNormalizadasDTO;
+import com.example.sistemaescolar.dto.PaginaDTO;
+import com.example.sistemaescolar.dto.PessoaDTO;
 import com.example.sistemaescolar.model.Curso;
 import com.example.sistemaescolar.model.Matricula;
 import com.example.sistemaescolar.model.Pessoa;
 import com.example.sistemaescolar.model.StatusPagamento;
+import com.example.sistemaescolar.repository.ContadoresCursoRepository;
 import com.example.sistemaescolar.repository.CursoRepository;
 import com.example.sistemaescolar.repository.MatriculaRepository;
 import com.example.sistemaescolar.repository.PessoaRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +58,12 @@ public class MatriculaServiceImplTest {
     @Mock
     private MatriculaRepository matriculaRepository;
 
+    @Mock
+    private ContadoresCursoRepository contadoresCursoRepository;
+
+    @Mock
+    private VersaoColecoes versaoColecoes;
+
     // A classe que estamos testando (com os mocks injetados)
     @InjectMocks
     private MatriculaServiceImpl matriculaService;
@@ -88,12 +114,8 @@ public class MatriculaServiceImplTest {
         // Configura o mock do cursoRepository para retornar o curso quando findById for chamado
         when(cursoRepository.findById(cursoId)).thenReturn(Optional.of(curso));
         
-        // Configura o mock do matriculaRepository para retornar false quando existsByAlunoIdAndCursoId for chamado
-        // (indicando que o aluno ainda não está matriculado neste curso)
-        when(matriculaRepository.existsByAlunoIdAndCursoId(alunoId, cursoId)).thenReturn(false);
-        
-        // Configura o mock do matriculaRepository para retornar a matrícula quando save for chamado
-        when(matriculaRepository.save(any(Matricula.class))).thenReturn(matricula);
+        // Configura o mock do matriculaRepository para retornar a matrícula quando saveAndFlush for chamado
+        when(matriculaRepository.saveAndFlush(any(Matricula.class))).thenReturn(matricula);
 
         // Act (Ação)
         // Chama o método que estamos testando
@@ -113,8 +135,11 @@ public class MatriculaServiceImplTest {
         // Verifica se os métodos dos mocks foram chamados o número correto de vezes
         verify(pessoaRepository, times(1)).findById(alunoId);
         verify(cursoRepository, times(1)).findById(cursoId);
-        verify(matriculaRepository, times(1)).existsByAlunoIdAndCursoId(alunoId, cursoId);
-        verify(matriculaRepository, times(1)).save(any(Matricula.class));
+        // A duplicidade é garantida pela restrição única do banco, sem consulta prévia
+        verify(matriculaRepository, never()).existsByAlunoIdAndCursoId(anyLong(), anyLong());
+        verify(matriculaRepository, times(1)).saveAndFlush(any(Matricula.class));
+        // O contador de matriculados do curso é incrementado na mesma transação
+        verify(contadoresCursoRepository, times(1)).somar(cursoId, 1, 0, BigDecimal.ZERO);
     }
 
     @Test
@@ -123,19 +148,74 @@ public class MatriculaServiceImplTest {
         when(pessoaRepository.findById(alunoId)).thenReturn(Optional.of(aluno));
         when(cursoRepository.findById(cursoId)).thenReturn(Optional.of(curso));
         
-        // Configura o mock para retornar true, indicando que o aluno já está matriculado
-        when(matriculaRepository.existsByAlunoIdAndCursoId(alunoId, cursoId)).thenReturn(true);
+        // Configura o mock para simular a violação da restrição única (aluno, curso) no insert
+        ConstraintViolationException violacao = new ConstraintViolationException("duplicate key value",
+                new SQLException("duplicate key value", "23505"), MatriculaServiceImpl.RESTRICAO_ALUNO_CURSO);
+        when(matriculaRepository.saveAndFlush(any(Matricula.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", violacao));
 
         // Act & Assert
-        // Verifica se uma RuntimeException é lançada com a mensagem esperada
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+        // Verifica se uma DuplicateKeyException (409 no controller) é lançada com a mensagem esperada
+        DuplicateKeyException exception = assertThrows(DuplicateKeyException.class, () -> {
             matriculaService.realizarMatricula(alunoId, cursoId, valorCobrado, dataVencimento);
         });
         
         assertEquals("Aluno já matriculado neste curso.", exception.getMessage());
         
-        // Verifica que save nunca foi chamado, já que uma exceção foi lançada antes
-        verify(matriculaRepository, never()).save(any(Matricula.class));
+        // Verifica que a alteração não foi registrada, já que nada foi gravado
+        verify(versaoColecoes, never()).registrarAlteracao(anyString());
+    }
+
+    @Test
+    void realizarMatricula_DeveReservarVagaQuandoCursoTemLimite() {
+        // Arrange
+        curso.setVagas(30);
+        when(pessoaRepository.findById(alunoId)).thenReturn(Optional.of(aluno));
+        when(cursoRepository.findById(cursoId)).thenReturn(Optional.of(curso));
+        when(contadoresCursoRepository.reservarVagas(cursoId, 1, 30)).thenReturn(1);
+        when(matriculaRepository.saveAndFlush(any(Matricula.class))).thenReturn(matricula);
+
+        // Act
+        matriculaService.realizarMatricula(alunoId, cursoId, valorCobrado, dataVencimento);
+
+        // Assert: a reserva já conta a matrícula, sem um segundo incremento
+        verify(contadoresCursoRepository, times(1)).reservarVagas(cursoId, 1, 30);
+        verify(contadoresCursoRepository, never()).somar(anyLong(), anyLong(), anyLong(), any());
+        verify(matriculaRepository, times(1)).saveAndFlush(any(Matricula.class));
+    }
+
+    @Test
+    void realizarMatricula_DeveLancarExcecaoQuandoCursoSemVagas() {
+        // Arrange
+        curso.setVagas(30);
+        when(pessoaRepository.findById(alunoId)).thenReturn(Optional.of(aluno));
+        when(cursoRepository.findById(cursoId)).thenReturn(Optional.of(curso));
+        when(contadoresCursoRepository.reservarVagas(cursoId, 1, 30)).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            matriculaService.realizarMatricula(alunoId, cursoId, valorCobrado, dataVencimento);
+        });
+
+        assertEquals("Não há vagas disponíveis no curso: Java Avançado", exception.getMessage());
+        verify(matriculaRepository, never()).saveAndFlush(any(Matricula.class));
+        verify(versaoColecoes, never()).registrarAlteracao(anyString());
+    }
+
+    @Test
+    void realizarMatricula_DeveRepassarOutrasViolacoesDeIntegridade() {
+        // Arrange
+        when(pessoaRepository.findById(alunoId)).thenReturn(Optional.of(aluno));
+        when(cursoRepository.findById(cursoId)).thenReturn(Optional.of(curso));
+        DataIntegrityViolationException erro = new DataIntegrityViolationException("value too long");
+        when(matriculaRepository.saveAndFlush(any(Matricula.class))).thenThrow(erro);
+
+        // Act & Assert
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> {
+            matriculaService.realizarMatricula(alunoId, cursoId, valorCobrado, dataVencimento);
+        });
+
+        assertSame(erro, exception);
     }
 
     @Test
@@ -193,4 +273,233 @@ public class MatriculaServiceImplTest {
         // Verifica que existsByAlunoIdAndCursoId nunca foi chamado
         verify(matriculaRepository, never()).existsByAlunoIdAndCursoId(anyLong(), anyLong());
     }
+
+    @Test
+    void listarPagina_DeveRetornarCursorQuandoExisteProximaPagina() {
+        // Arrange
+        // A consulta traz um registro a mais que o tamanho da página (3 de 2)
+        List<Matricula> registros = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            Matricula m = new Matricula();
+            m.setId(i);
+            m.setAluno(aluno);
+            m.setCurso(curso);
+            registros.add(m);
+        }
+        when(matriculaRepository.findSomenteLeituraByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3))).thenReturn(registros);
+        when(matriculaRepository.findSomenteLeituraByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3))).thenReturn(registros.subList(2, 3));
+
+        // Act
+        PaginaDTO<MatriculaDTO> primeira = matriculaService.listarPagina(null, 2);
+        PaginaDTO<MatriculaDTO> segunda = matriculaService.listarPagina(primeira.getProximoCursor(), 2);
+
+        // Assert
+        // A primeira página tem 2 itens e um cursor que continua a partir do ID 2
+        assertEquals(2, primeira.getItens().size());
+        assertNotNull(primeira.getProximoCursor());
+
+        // A última página não tem próximo cursor
+        assertEquals(1, segunda.getItens().size());
+        assertEquals(3L, segunda.getItens().get(0).getId());
+        assertNull(segunda.getProximoCursor());
+    }
+
+    @Test
+    void listarPagina_DeveLancarExcecaoQuandoCursorInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> matriculaService.listarPagina("cursor-invalido", 10));
+        verify(matriculaRepository, never()).findSomenteLeituraByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void realizarMatriculasEmLote_DeveValidarTodosOsItensComConsultasAgrupadas() {
+        // Arrange
+        Pessoa outroAluno = new Pessoa();
+        outroAluno.setId(3L);
+        outroAluno.setNome("Maria Souza");
+
+        List<MatriculaLoteItemDTO> itens = List.of(
+                new MatriculaLoteItemDTO(alunoId, cursoId, valorCobrado, dataVencimento),   // válido
+                new MatriculaLoteItemDTO(3L, cursoId, valorCobrado, dataVencimento),        // já matriculado no banco
+                new MatriculaLoteItemDTO(99L, cursoId, valorCobrado, dataVencimento),       // aluno inexistente
+                new MatriculaLoteItemDTO(alunoId, cursoId, valorCobrado, dataVencimento)    // repetido no próprio lote
+        );
+
+        when(pessoaRepository.findAllById(any())).thenReturn(List.of(aluno, outroAluno));
+        when(cursoRepository.findAllById(any())).thenReturn(List.of(curso));
+        when(matriculaRepository.findParesAlunoCurso(any(), any()))
+                .thenReturn(Collections.singletonList(new Object[]{3L, cursoId}));
+        when(matriculaRepository.saveAllAndFlush(any())).thenAnswer(invocation -> {
+            List<Matricula> novas = invocation.getArgument(0);
+            novas.get(0).setId(10L);
+            return novas;
+        });
+
+        // Act
+        List<MatriculaLoteResultadoDTO> resultados = matriculaService.realizarMatriculasEmLote(itens);
+
+        // Assert
+        assertEquals(4, resultados.size());
+        assertEquals(10L, resultados.get(0).getMatriculaId());
+        assertNull(resultados.get(0).getErro());
+        assertEquals("Aluno já matriculado neste curso.", resultados.get(1).getErro());
+        assertTrue(resultados.get(2).getErro().contains("Aluno não encontrado"));
+        assertEquals("Aluno já matriculado neste curso.", resultados.get(3).getErro());
+
+        // Uma consulta por tabela para o lote inteiro, nenhuma por item
+        verify(pessoaRepository, times(1)).findAllById(any());
+        verify(cursoRepository, times(1)).findAllById(any());
+        verify(matriculaRepository, times(1)).findParesAlunoCurso(any(), any());
+        verify(matriculaRepository, times(1)).saveAllAndFlush(any());
+        verify(pessoaRepository, never()).findById(anyLong());
+        verify(matriculaRepository, never()).existsByAlunoIdAndCursoId(anyLong(), anyLong());
+        verify(contadoresCursoRepository, times(1)).somar(cursoId, 1, 0, BigDecimal.ZERO);
+    }
+
+    @Test
+    void realizarMatriculasEmLote_DeveRecusarTodasAsMatriculasDoCursoSemVagasSuficientes() {
+        // Arrange: o curso tem limite e não comporta as duas matrículas do lote
+        curso.setVagas(10);
+        Pessoa outroAluno = new Pessoa();
+        outroAluno.setId(3L);
+        List<MatriculaLoteItemDTO> itens = List.of(
+                new MatriculaLoteItemDTO(alunoId, cursoId, valorCobrado, dataVencimento),
+                new MatriculaLoteItemDTO(3L, cursoId, valorCobrado, dataVencimento));
+        when(pessoaRepository.findAllById(any())).thenReturn(List.of(aluno, outroAluno));
+        when(cursoRepository.findAllById(any())).thenReturn(List.of(curso));
+        when(matriculaRepository.findParesAlunoCurso(any(), any())).thenReturn(Collections.emptyList());
+        when(contadoresCursoRepository.reservarVagas(cursoId, 2, 10)).thenReturn(0);
+        when(matriculaRepository.saveAllAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<MatriculaLoteResultadoDTO> resultados = matriculaService.realizarMatriculasEmLote(itens);
+
+        // Assert
+        assertEquals("Não há vagas suficientes no curso Java Avançado para as 2 matrículas do lote.", resultados.get(0).getErro());
+        assertEquals(resultados.get(0).getErro(), resultados.get(1).getErro());
+        assertNull(resultados.get(0).getMatriculaId());
+        verify(matriculaRepository, times(1)).saveAllAndFlush(Collections.emptyList());
+        verify(versaoColecoes, never()).registrarAlteracao(anyString());
+    }
+
+    @Test
+    void atualizarStatusPagamentoEmLote_DeveAgruparPorStatusEInformarIdsNaoEncontrados() {
+        // Arrange: o ID 1 aparece duas vezes (vale o último status) e o ID 99 não existe
+        List<MatriculaStatusItemDTO> itens = List.of(
+                new MatriculaStatusItemDTO(1L, StatusPagamento.ATRASADO),
+                new MatriculaStatusItemDTO(2L, StatusPagamento.PAGO),
+                new MatriculaStatusItemDTO(99L, StatusPagamento.PAGO),
+                new MatriculaStatusItemDTO(1L, StatusPagamento.PAGO),
+                new MatriculaStatusItemDTO(3L, StatusPagamento.PENDENTE));
+        // O ID 3 já está PENDENTE e não precisa de UPDATE
+        when(matriculaRepository.findSituacaoParaAtualizacao(any())).thenReturn(List.of(
+                new Object[]{1L, cursoId, StatusPagamento.PENDENTE, new BigDecimal("100.00")},
+                new Object[]{2L, cursoId, StatusPagamento.ATRASADO, new BigDecimal("50.00")},
+                new Object[]{3L, cursoId, StatusPagamento.PENDENTE, new BigDecimal("80.00")}));
+        when(matriculaRepository.atualizarStatusPorIds(StatusPagamento.PAGO, List.of(1L, 2L))).thenReturn(2);
+
+        // Act
+        AtualizacaoStatusLoteDTO resultado = matriculaService.atualizarStatusPagamentoEmLote(itens);
+
+        // Assert
+        assertEquals(5, resultado.getRecebidos());
+        assertEquals(2, resultado.getAtualizadas());
+        assertEquals(List.of(99L), resultado.getIdsNaoEncontrados());
+        // Um UPDATE por status de destino, sem carregar nem salvar matrículas individualmente
+        verify(matriculaRepository, times(1)).atualizarStatusPorIds(any(), any());
+        verify(matriculaRepository, never()).findById(anyLong());
+        verify(matriculaRepository, never()).save(any(Matricula.class));
+        verify(versaoColecoes, times(1)).registrarAlteracao(VersaoColecoes.MATRICULAS);
+        // Os contadores do curso recebem uma única variação com as duas matrículas pagas
+        verify(contadoresCursoRepository, times(1)).somar(cursoId, 0, 2, new BigDecimal("150.00"));
+    }
+
+    @Test
+    void atualizarStatusPagamento_DeveAjustarPagosEReceitaDoCurso() {
+        when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
+        when(matriculaRepository.save(matricula)).thenReturn(matricula);
+
+        matriculaService.atualizarStatusPagamento(1L, StatusPagamento.PAGO);
+
+        verify(contadoresCursoRepository, times(1)).somar(cursoId, 0, 1, valorCobrado);
+    }
+
+    @Test
+    void atualizarStatusPagamento_NaoDeveAlterarContadoresQuandoMatriculaContinuaSemPagamento() {
+        when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
+        when(matriculaRepository.save(matricula)).thenReturn(matricula);
+
+        matriculaService.atualizarStatusPagamento(1L, StatusPagamento.ATRASADO);
+
+        verifyNoInteractions(contadoresCursoRepository);
+    }
+
+    @Test
+    void cancelarMatricula_DeveDescontarMatriculaPagaDosContadores() {
+        matricula.setStatusPagamento(StatusPagamento.PAGO);
+        when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
+
+        matriculaService.cancelarMatricula(1L);
+
+        // A matrícula é excluída (e o DELETE executado) antes do ajuste dos contadores,
+        // na mesma ordem de bloqueio da alteração de status
+        InOrder ordem = inOrder(matriculaRepository, contadoresCursoRepository);
+        ordem.verify(matriculaRepository).delete(matricula);
+        ordem.verify(matriculaRepository).flush();
+        ordem.verify(contadoresCursoRepository).somar(cursoId, -1, -1, valorCobrado.negate());
+    }
+
+    @Test
+    void atualizarStatusPagamento_DeveGravarMatriculaAntesDosContadores() {
+        when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
+        when(matriculaRepository.save(matricula)).thenReturn(matricula);
+
+        matriculaService.atualizarStatusPagamento(1L, StatusPagamento.PAGO);
+
+        InOrder ordem = inOrder(matriculaRepository, contadoresCursoRepository);
+        ordem.verify(matriculaRepository).save(matricula);
+        ordem.verify(matriculaRepository).flush();
+        ordem.verify(contadoresCursoRepository).somar(cursoId, 0, 1, valorCobrado);
+    }
+
+    @Test
+    void atualizarStatusPagamentoEmLote_DeveLancarExcecaoQuandoItemIncompleto() {
+        List<MatriculaStatusItemDTO> itens = List.of(new MatriculaStatusItemDTO(1L, null));
+
+        assertThrows(IllegalArgumentException.class, () -> matriculaService.atualizarStatusPagamentoEmLote(itens));
+        verifyNoInteractions(matriculaRepository);
+    }
+
+    @Test
+    void listarMatriculasPorAlunoNormalizadas_DeveEnviarCadaCursoUmaVez() {
+        Curso outroCurso = new Curso();
+        outroCurso.setId(3L);
+        outroCurso.setNome("Violão");
+        outroCurso.setValor(new BigDecimal("120.00"));
+        when(matriculaRepository.findReferenciasPorAluno(alunoId)).thenReturn(List.of(
+                new Object[]{1L, alunoId, cursoId, LocalDate.now(), valorCobrado, StatusPagamento.PAGO, dataVencimento},
+                new Object[]{2L, alunoId, 3L, LocalDate.now(), valorCobrado, StatusPagamento.PENDENTE, dataVencimento},
+                new Object[]{3L, alunoId, cursoId, LocalDate.now(), valorCobrado, StatusPagamento.PENDENTE, dataVencimento}));
+        when(pessoaRepository.findAllById(any())).thenReturn(List.of(aluno));
+        when(cursoRepository.findAllById(any())).thenReturn(List.of(outroCurso, curso));
+
+        MatriculasNormalizadasDTO resultado = matriculaService.listarMatriculasPorAlunoNormalizadas(alunoId);
+
+        assertEquals(3, resultado.getItens().size());
+        assertEquals(3L, resultado.getItens().get(1).getCursoId());
+        assertEquals(List.of(alunoId), resultado.getPessoas().stream().map(PessoaDTO::getId).toList());
+        assertEquals(List.of(cursoId, 3L), resultado.getCursos().stream().map(CursoDTO::getId).toList());
+        assertNull(resultado.getProximoCursor());
+        verify(cursoRepository).findAllById(new TreeSet<>(List.of(cursoId, 3L)));
+    }
+
+    @Test
+    void listarPaginaNormalizada_NaoDeveConsultarAlunosECursosQuandoPaginaVazia() {
+        when(matriculaRepository.findReferenciasApos(0L, PageRequest.of(0, 51))).thenReturn(List.of());
+
+        MatriculasNormalizadasDTO resultado = matriculaService.listarPaginaNormalizada(null, 50);
+
+        assertTrue(resultado.getItens().isEmpty());
+        assertTrue(resultado.getCursos().isEmpty());
+        verifyNoInteractions(pessoaRepository, cursoRepository);
+    }
 }
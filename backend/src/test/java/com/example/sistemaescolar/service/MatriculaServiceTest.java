@@ -37,6 +37,9 @@ class MatriculaServiceTest {
     @Mock
     private MatriculaRepository matriculaRepository;
 
+    @Mock
+    private VersaoColecoes versaoColecoes;
+
     @InjectMocks
     private MatriculaServiceImpl matriculaService;
 
@@ -155,7 +158,7 @@ class MatriculaServiceTest {
     @Test
     @DisplayName("Deve buscar matrícula por ID com sucesso e retornar DTO")
     void deveBuscarMatriculaPorIdComSucessoERetornarDTO() {
-        when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
+        when(matriculaRepository.findSomenteLeituraComAlunoECursoById(1L)).thenReturn(Optional.of(matricula));
 
         Optional<MatriculaDTO> foundMatriculaDTO = matriculaService.buscarPorId(1L);
 
@@ -168,7 +171,7 @@ class MatriculaServiceTest {
     @Test
     @DisplayName("Deve retornar Optional vazio se matrícula não encontrada por ID")
     void deveRetornarOptionalVazioSeMatriculaNaoEncontradaPorId() {
-        when(matriculaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(matriculaRepository.findSomenteLeituraComAlunoECursoById(1L)).thenReturn(Optional.empty());
 
         Optional<MatriculaDTO> foundMatriculaDTO = matriculaService.buscarPorId(1L);
 
@@ -184,14 +187,14 @@ class MatriculaServiceTest {
         matricula2.setAluno(aluno);
         matricula2.setCurso(new Curso());
 
-        when(matriculaRepository.findByAlunoId(1L)).thenReturn(Arrays.asList(matricula, matricula2));
+        when(matriculaRepository.findSomenteLeituraByAlunoId(1L)).thenReturn(Arrays.asList(matricula, matricula2));
 
         List<MatriculaDTO> matriculasDTO = matriculaService.listarMatriculasPorAluno(1L);
 
         assertNotNull(matriculasDTO);
         assertEquals(2, matriculasDTO.size());
         assertEquals(aluno.getNome(), matriculasDTO.get(0).getAluno().getNome());
-        verify(matriculaRepository, times(1)).findByAlunoId(1L);
+        verify(matriculaRepository, times(1)).findSomenteLeituraByAlunoId(1L);
     }
 
     @Test
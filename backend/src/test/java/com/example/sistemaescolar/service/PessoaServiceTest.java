@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +23,9 @@ class PessoaServiceTest {
     @Mock
     private PessoaRepository pessoaRepository;
 
+    @Mock
+    private VersaoColecoes versaoColecoes;
+
     @InjectMocks
     private PessoaServiceImpl pessoaService;
 
@@ -115,13 +119,13 @@ class PessoaServiceTest {
     @Test
     @DisplayName("Deve listar todas as pessoas com sucesso")
     void deveListarTodasAsPessoasComSucesso() {
-        when(pessoaRepository.findAll()).thenReturn(java.util.Arrays.asList(pessoa, new Pessoa()));
+        when(pessoaRepository.findTodasSomenteLeitura()).thenReturn(java.util.Arrays.asList(pessoa, new Pessoa()));
 
         List<Pessoa> pessoas = pessoaService.listarTodasPessoas();
 
         assertNotNull(pessoas);
         assertEquals(2, pessoas.size());
-        verify(pessoaRepository, times(1)).findAll();
+        verify(pessoaRepository, times(1)).findTodasSomenteLeitura();
     }
 
     @Test
@@ -185,6 +189,65 @@ class PessoaServiceTest {
         verify(pessoaRepository, times(1)).existsById(1L);
         verify(pessoaRepository, never()).deleteById(anyLong());
     }
-}
 
+    @Test
+    @DisplayName("Deve normalizar o termo da busca e delegar ao banco com limite")
+    void deveNormalizarTermoDaBusca() {
+        when(pessoaRepository.findRanqueadasPorTermo("joao", "", 10)).thenReturn(List.of(pessoa));
+
+        List<Pessoa> resultado = pessoaService.buscar("  João ", 0);
+
+        assertEquals(1, resultado.size());
+        verify(pessoaRepository, times(1)).findRanqueadasPorTermo("joao", "", 10);
+        verify(pessoaRepository, never()).findTodasSomenteLeitura();
+    }
+
+    @Test
+    @DisplayName("Deve buscar pelos dígitos do CPF e respeitar o limite máximo")
+    void deveBuscarPorDigitosDoCpf() {
+        when(pessoaRepository.findRanqueadasPorTermo("123.456", "123456", PessoaServiceImpl.LIMITE_BUSCA_MAXIMO))
+                .thenReturn(List.of(pessoa));
+
+        List<Pessoa> resultado = pessoaService.buscar("123.456", 1000);
+
+        assertEquals(1, resultado.size());
+    }
 
+    @Test
+    @DisplayName("Deve escapar os curingas do LIKE digitados no termo da busca")
+    void deveEscaparCuringasDoTermo() {
+        when(pessoaRepository.findRanqueadasPorTermo("50\\%\\_off\\\\", "50", 10)).thenReturn(List.of(pessoa));
+
+        List<Pessoa> resultado = pessoaService.buscar("50%_off\\", 10);
+
+        assertEquals(1, resultado.size());
+        verify(pessoaRepository, times(1)).findRanqueadasPorTermo("50\\%\\_off\\\\", "50", 10);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o banco quando o termo da busca está em branco")
+    void naoDeveConsultarBancoComTermoEmBranco() {
+        assertTrue(pessoaService.buscar("   ", 10).isEmpty());
+        verifyNoInteractions(pessoaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar bloco verificando os CPFs com uma única consulta")
+    void deveCadastrarBlocoComUmaConsultaDeCpfs() {
+        Pessoa existente = new Pessoa();
+        existente.setNome("Já Cadastrada");
+        existente.setCpf("12345678900");
+        Pessoa nova = new Pessoa();
+        nova.setNome("Nova Pessoa");
+        nova.setCpf("98765432100");
+        when(pessoaRepository.findCpfsExistentes(any())).thenReturn(List.of("12345678900"));
+
+        List<String> erros = pessoaService.cadastrarEmBloco(List.of(existente, nova));
+
+        assertEquals("Já existe uma pessoa cadastrada com o CPF: 12345678900", erros.get(0));
+        assertNull(erros.get(1));
+        verify(pessoaRepository, times(1)).findCpfsExistentes(any());
+        verify(pessoaRepository, times(1)).saveAll(List.of(nova));
+        verify(pessoaRepository, never()).findByCpf(anyString());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.model.StatusPagamento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjecaoMatriculasTest {
+
+    @Test
+    @DisplayName("Deve incluir o ID, remover repetições e expandir os campos do aluno")
+    void deveValidarCampos() {
+        List<String> campos = ProjecaoMatriculas.validar(List.of("statusPagamento", " aluno ", "statusPagamento", ""));
+
+        assertEquals(List.of("id", "statusPagamento", "aluno.id", "aluno.nome", "aluno.cpf", "aluno.dataNascimento",
+                "aluno.email", "aluno.telefone"), campos);
+    }
+
+    @Test
+    @DisplayName("Deve recusar campo desconhecido")
+    void deveRecusarCampoDesconhecido() {
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> ProjecaoMatriculas.validar(List.of("curso.preco")));
+
+        assertTrue(erro.getMessage().startsWith("Campo desconhecido: curso.preco"));
+    }
+
+    @Test
+    @DisplayName("Não deve fazer JOIN quando só os IDs do aluno e do curso são pedidos")
+    void naoDeveJuntarParaIds() {
+        String jpql = ProjecaoMatriculas.consulta(ProjecaoMatriculas.validar(List.of("aluno.id", "curso.id")), "m.id > :ultimoId");
+
+        assertEquals("select m.id, m.aluno.id, m.curso.id from Matricula m where m.id > :ultimoId order by m.id", jpql);
+    }
+
+    @Test
+    @DisplayName("Deve juntar apenas o curso quando só campos do curso são pedidos")
+    void deveJuntarApenasOCurso() {
+        String jpql = ProjecaoMatriculas.consulta(ProjecaoMatriculas.validar(MatriculaService.CAMPOS_RESUMO.subList(3, 5)),
+                "m.aluno.id = :alunoId");
+
+        assertEquals("select m.id, m.curso.id, c.nome from Matricula m join m.curso c where m.aluno.id = :alunoId order by m.id", jpql);
+    }
+
+    @Test
+    @DisplayName("Deve agrupar os campos do aluno e do curso na linha")
+    void deveMontarLinhaAninhada() {
+        List<String> campos = List.of("id", "aluno.nome", "curso.id", "statusPagamento");
+
+        Map<String, Object> linha = ProjecaoMatriculas.linha(campos, new Object[]{7L, "Ana", 3L, StatusPagamento.PAGO});
+
+        assertEquals(Map.of("id", 7L, "aluno", Map.of("nome", "Ana"), "curso", Map.of("id", 3L),
+                "statusPagamento", StatusPagamento.PAGO), linha);
+        assertEquals(List.of("id", "aluno", "curso", "statusPagamento"), List.copyOf(linha.keySet()));
+    }
+}
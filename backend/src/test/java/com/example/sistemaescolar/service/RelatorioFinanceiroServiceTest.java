@@ -0,0 +1,66 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.dto.RelatorioFinanceiroDTO;
+import com.example.sistemaescolar.repository.ResumoFinanceiroRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelatorioFinanceiroServiceTest {
+
+    @Mock
+    private ResumoFinanceiroRepository resumoFinanceiroRepository;
+
+    @InjectMocks
+    private RelatorioFinanceiroServiceImpl relatorioFinanceiroService;
+
+    @Test
+    @DisplayName("Deve montar o relatório a partir dos totais agregados no banco")
+    void deveMontarRelatorioAPartirDoResumo() {
+        when(resumoFinanceiroRepository.somarPorStatus()).thenReturn(Arrays.asList(
+                new Object[]{"PAGO", 10L, new BigDecimal("1500.00")},
+                new Object[]{"PENDENTE", 2L, new BigDecimal("300.00")}));
+        when(resumoFinanceiroRepository.somarPorCurso()).thenReturn(Collections.singletonList(
+                new Object[]{7L, "Violão", 12L, new BigDecimal("1800.00")}));
+        when(resumoFinanceiroRepository.somarPorMesVencimento()).thenReturn(Arrays.asList(
+                new Object[]{Date.valueOf(LocalDate.of(2024, 3, 1)), 12L, new BigDecimal("1800.00")},
+                new Object[]{null, 0L, null}));
+
+        RelatorioFinanceiroDTO relatorio = relatorioFinanceiroService.gerarRelatorioFinanceiro();
+
+        assertEquals(2, relatorio.getPorStatus().size());
+        assertEquals("PAGO", relatorio.getPorStatus().get(0).getChave());
+        assertEquals(new BigDecimal("1500.00"), relatorio.getPorStatus().get(0).getValorTotal());
+        assertEquals("7", relatorio.getPorCurso().get(0).getChave());
+        assertEquals("Violão", relatorio.getPorCurso().get(0).getDescricao());
+        assertEquals("2024-03", relatorio.getPorMesVencimento().get(0).getChave());
+        assertNull(relatorio.getPorMesVencimento().get(1).getChave());
+        assertEquals(BigDecimal.ZERO, relatorio.getPorMesVencimento().get(1).getValorTotal());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular o resumo apenas quando matrículas ou cursos mudaram")
+    void deveRecalcularResumoApenasQuandoHouveAlteracao() {
+        // O contador do banco soma as alterações de todas as instâncias do backend
+        when(resumoFinanceiroRepository.contarAlteracoes()).thenReturn(10L, 10L, 11L);
+
+        assertTrue(relatorioFinanceiroService.atualizarResumo());
+        assertFalse(relatorioFinanceiroService.atualizarResumo());
+        assertTrue(relatorioFinanceiroService.atualizarResumo());
+
+        verify(resumoFinanceiroRepository, times(2)).atualizarResumo();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.sistemaescolar.service;
+
+import com.example.sistemaescolar.dto.VarreduraAtrasosDTO;
+import com.example.sistemaescolar.model.StatusPagamento;
+import com.example.sistemaescolar.repository.MatriculaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VarreduraAtrasosTest {
+
+    @Mock
+    private MatriculaRepository matriculaRepository;
+
+    @Mock
+    private MatriculaService matriculaService;
+
+    private VarreduraAtrasos varreduraAtrasos;
+
+    private final LocalDate hoje = LocalDate.of(2024, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        varreduraAtrasos = new VarreduraAtrasos(matriculaRepository, matriculaService, "America/Sao_Paulo");
+    }
+
+    @Test
+    @DisplayName("Deve atualizar as matrículas vencidas em faixas de IDs")
+    void deveAtualizarEmFaixasDeIds() {
+        when(matriculaRepository.findFaixaIdsPorStatusEVencimentoAntes(StatusPagamento.PENDENTE, hoje))
+                .thenReturn(Collections.singletonList(new Object[]{1L, 12_000L}));
+        when(matriculaService.marcarAtrasadasNaFaixa(eq(hoje), anyLong(), anyLong())).thenReturn(100, 100, 20);
+
+        VarreduraAtrasosDTO resultado = varreduraAtrasos.executar(hoje);
+
+        assertEquals(220, resultado.getMatriculasAtualizadas());
+        assertEquals(3, resultado.getFaixasProcessadas());
+        assertEquals(hoje, resultado.getDataReferencia());
+        verify(matriculaService).marcarAtrasadasNaFaixa(hoje, 1L, 5_000L);
+        verify(matriculaService).marcarAtrasadasNaFaixa(hoje, 5_001L, 10_000L);
+        verify(matriculaService).marcarAtrasadasNaFaixa(hoje, 10_001L, 12_000L);
+        // Nenhuma matrícula é carregada individualmente
+        verify(matriculaRepository, never()).findByDataVencimentoBeforeAndStatusPagamento(any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve executar UPDATE quando não há matrículas pendentes vencidas")
+    void naoDeveAtualizarQuandoNaoHaVencidas() {
+        when(matriculaRepository.findFaixaIdsPorStatusEVencimentoAntes(StatusPagamento.PENDENTE, hoje))
+                .thenReturn(Collections.singletonList(new Object[]{null, null}));
+
+        VarreduraAtrasosDTO resultado = varreduraAtrasos.executar(hoje);
+
+        assertEquals(0, resultado.getMatriculasAtualizadas());
+        assertEquals(0, resultado.getFaixasProcessadas());
+        verifyNoInteractions(matriculaService);
+    }
+}
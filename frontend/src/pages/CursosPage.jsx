@@ -24,7 +24,7 @@ function CursosPage() {
 
   const fetchCursos = async () => {
     try {
-      const response = await fetch("http://localhost:8080/api/cursos");
+      const response = await fetch("http://localhost:8080/api/cursos", { credentials: "include" });
       if (!response.ok) {
         throw new Error(`HTTP error! status: ${response.status}`);
       }
@@ -57,6 +57,7 @@ function CursosPage() {
         : "http://localhost:8080/api/cursos";
 
       const response = await fetch(url, {
+        credentials: "include",
         method,
         headers: {
           "Content-Type": "application/json",
@@ -96,6 +97,7 @@ function CursosPage() {
     }
     try {
       const response = await fetch(`http://localhost:8080/api/cursos/${id}`, {
+        credentials: "include",
         method: "DELETE",
       });
 
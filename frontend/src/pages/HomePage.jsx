@@ -12,19 +12,21 @@ function HomePage() {
     const fetchDashboardData = async () => {
       try {
         // Exemplo de chamadas para APIs de contagem
-        const pessoasResponse = await fetch("http://localhost:8080/api/pessoas");
+        const pessoasResponse = await fetch("http://localhost:8080/api/pessoas", { credentials: "include" });
         const pessoas = await pessoasResponse.json();
 
-        const cursosResponse = await fetch("http://localhost:8080/api/cursos");
+        const cursosResponse = await fetch("http://localhost:8080/api/cursos", { credentials: "include" });
         const cursos = await cursosResponse.json();
 
-        const matriculasResponse = await fetch("http://localhost:8080/api/matriculas");
-        const matriculas = await matriculasResponse.json();
+        // Total de matrículas calculado no banco pelo relatório financeiro, sem baixar as matrículas
+        const relatorioResponse = await fetch("http://localhost:8080/api/relatorios/financeiro", { credentials: "include" });
+        const relatorio = await relatorioResponse.json();
+        const totalMatriculas = relatorio.porStatus.reduce((total, grupo) => total + grupo.quantidade, 0);
 
         setDashboardData({
           totalPessoas: pessoas.length,
           totalCursos: cursos.length,
-          totalMatriculas: matriculas.length,
+          totalMatriculas,
         });
       } catch (error) {
         console.error("Erro ao buscar dados do dashboard:", error);
@@ -11,6 +11,7 @@ import { toast } from "../components/ui/use-toast";
 
 function MatriculasPage() {
   const [matriculas, setMatriculas] = useState([]);
+  const [proximoCursor, setProximoCursor] = useState(null);
   const [pessoas, setPessoas] = useState([]);
   const [cursos, setCursos] = useState([]);
   const [isModalOpen, setIsModalOpen] = useState(false);
@@ -29,14 +30,20 @@ function MatriculasPage() {
     fetchCursos();
   }, []);
 
-  const fetchMatriculas = async () => {
+  const fetchMatriculas = async (cursor = null) => {
     try {
-      const response = await fetch("http://localhost:8080/api/matriculas");
+      // A listagem é paginada por cursor: cada página devolve o cursor da próxima
+      const params = new URLSearchParams({ tamanho: "100" });
+      if (cursor) {
+        params.set("cursor", cursor);
+      }
+      const response = await fetch(`http://localhost:8080/api/matriculas/pagina?${params}`, { credentials: "include" });
       if (!response.ok) {
         throw new Error(`HTTP error! status: ${response.status}`);
       }
       const data = await response.json();
-      setMatriculas(data);
+      setMatriculas((prev) => (cursor ? [...prev, ...data.itens] : data.itens));
+      setProximoCursor(data.proximoCursor);
     } catch (error) {
       console.error("Erro ao buscar matrículas:", error);
       toast({
@@ -49,7 +56,7 @@ function MatriculasPage() {
 
   const fetchPessoas = async () => {
     try {
-      const response = await fetch("http://8080/api/pessoas");
+      const response = await fetch("http://8080/api/pessoas", { credentials: "include" });
       if (!response.ok) {
         throw new Error(`HTTP error! status: ${response.status}`);
       }
@@ -62,7 +69,7 @@ function MatriculasPage() {
 
   const fetchCursos = async () => {
     try {
-      const response = await fetch("http://localhost:8080/api/cursos");
+      const response = await fetch("http://localhost:8080/api/cursos", { credentials: "include" });
       if (!response.ok) {
         throw new Error(`HTTP error! status: ${response.status}`);
       }
@@ -97,6 +104,7 @@ function MatriculasPage() {
       };
 
       const response = await fetch(url, {
+        credentials: "include",
         method,
         headers: {
           "Content-Type": "application/json",
@@ -140,6 +148,7 @@ function MatriculasPage() {
     }
     try {
       const response = await fetch(`http://localhost:8080/api/matriculas/${id}`, {
+        credentials: "include",
         method: "DELETE",
       });
 
@@ -239,6 +248,14 @@ function MatriculasPage() {
         </TableBody>
       </Table>
 
+      {proximoCursor && (
+        <div className="flex justify-center mt-4">
+          <Button variant="outline" onClick={() => fetchMatriculas(proximoCursor)}>
+            Carregar mais
+          </Button>
+        </div>
+      )}
+
       <Dialog open={isModalOpen} onOpenChange={setIsModalOpen}>
         <DialogContent>
           <DialogHeader>
@@ -25,7 +25,7 @@ function PessoasPage() {
 
   const fetchPessoas = async () => {
     try {
-      const response = await fetch("http://localhost:8080/api/pessoas");
+      const response = await fetch("http://localhost:8080/api/pessoas", { credentials: "include" });
       if (!response.ok) {
         throw new Error(`HTTP error! status: ${response.status}`);
       }
@@ -54,6 +54,7 @@ function PessoasPage() {
         : "http://localhost:8080/api/pessoas";
 
       const response = await fetch(url, {
+        credentials: "include",
         method,
         headers: {
           "Content-Type": "application/json",
@@ -93,6 +94,7 @@ function PessoasPage() {
     }
     try {
       const response = await fetch(`http://localhost:8080/api/pessoas/${id}`, {
+        credentials: "include",
         method: "DELETE",
       });
 